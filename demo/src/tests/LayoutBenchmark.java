@@ -0,0 +1,244 @@
+/*
+Copyright (c) 2023 Andrew Auclair
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package tests;
+
+import ModernDocking.Docking;
+import ModernDocking.DockingRegion;
+import ModernDocking.RootDockingPanel;
+import ModernDocking.internal.DisplayPanel;
+import ModernDocking.internal.ToolbarLayout;
+import basic.SimplePanel;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+// times the layout of the docking containers with 1,000 dockables and compares the layouts used by the framework against the
+// GridBagLayout versions that they replaced. run from the demo, results are printed to the console. the comparisons don't need
+// a display and also run with -Djava.awt.headless=true, the display panels of a docked frame are only timed when there is a display
+public class LayoutBenchmark {
+	private static final int DOCKABLES = 1000;
+	private static final int WARMUP_ITERATIONS = 20;
+	private static final int ITERATIONS = 100;
+
+	public static void main(String[] args) throws InterruptedException, InvocationTargetException {
+		SwingUtilities.invokeAndWait(LayoutBenchmark::run);
+
+		System.exit(0);
+	}
+
+	private static void run() {
+		System.out.println("Layout of " + DOCKABLES + " dockables, average time per pass over all containers");
+		System.out.println();
+
+		if (GraphicsEnvironment.isHeadless()) {
+			System.out.println("display panels (framework) skipped, no display");
+		}
+		else {
+			report("display panels (framework)", timeDisplayPanels());
+		}
+		report("header + content, BorderLayout", time(headerContentPanels(new BorderLayout())));
+		report("header + content, GridBagLayout", time(headerContentPanels(new GridBagLayout())));
+
+		System.out.println();
+
+		report("toolbar strip, ToolbarLayout", time(single(toolbar(false))));
+		report("toolbar strip, GridBagLayout", time(single(toolbar(true))));
+
+		System.out.println();
+
+		report("unpin " + DOCKABLES + " into toolbar, incremental", timeToolbarFill(false));
+		report("unpin " + DOCKABLES + " into toolbar, rebuild", timeToolbarFill(true));
+	}
+
+	// dock all the dockables into a frame and time the layout of their display panels
+	private static double timeDisplayPanels() {
+		JFrame frame = new JFrame("Layout Benchmark");
+		frame.setSize(1200, 800);
+
+		Docking.initialize(frame);
+
+		RootDockingPanel root = new RootDockingPanel(frame);
+		frame.add(root);
+
+		List<SimplePanel> dockables = new ArrayList<>();
+
+		for (int i = 0; i < DOCKABLES; i++) {
+			dockables.add(new SimplePanel("panel " + i, "benchmark-" + i));
+		}
+
+		Docking.dock(dockables.get(0), frame);
+
+		for (int i = 1; i < DOCKABLES; i++) {
+			Docking.dock(dockables.get(i), dockables.get(0), DockingRegion.CENTER);
+		}
+
+		List<Container> displayPanels = new ArrayList<>();
+
+		for (SimplePanel dockable : dockables) {
+			displayPanels.add((Container) SwingUtilities.getAncestorOfClass(DisplayPanel.class, dockable));
+		}
+
+		double millis = time(displayPanels);
+
+		frame.dispose();
+
+		return millis;
+	}
+
+	private static void report(String name, double millis) {
+		System.out.printf("%-45s %10.3f ms%n", name, millis);
+	}
+
+	// average time to lay out all the containers once
+	private static double time(List<Container> containers) {
+		for (Container container : containers) {
+			container.setSize(400, 300);
+		}
+
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			layout(containers);
+		}
+
+		long start = System.nanoTime();
+
+		for (int i = 0; i < ITERATIONS; i++) {
+			layout(containers);
+		}
+		return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+	}
+
+	private static void layout(List<Container> containers) {
+		for (Container container : containers) {
+			container.invalidate();
+			container.doLayout();
+		}
+	}
+
+	private static List<Container> single(Container container) {
+		List<Container> containers = new ArrayList<>();
+		containers.add(container);
+		return containers;
+	}
+
+	// stand-ins for the display panels with a header and content in the given layout
+	private static List<Container> headerContentPanels(LayoutManager layout) {
+		List<Container> panels = new ArrayList<>();
+
+		for (int i = 0; i < DOCKABLES; i++) {
+			JPanel panel = new JPanel(layout instanceof BorderLayout ? new BorderLayout() : new GridBagLayout());
+
+			JPanel header = new JPanel();
+			header.add(new JLabel("panel " + i));
+			header.add(new JButton("..."));
+
+			JPanel content = new JPanel();
+
+			if (layout instanceof BorderLayout) {
+				panel.add(header, BorderLayout.NORTH);
+				panel.add(content, BorderLayout.CENTER);
+			}
+			else {
+				GridBagConstraints gbc = new GridBagConstraints();
+				gbc.gridx = 0;
+				gbc.gridy = 0;
+				gbc.fill = GridBagConstraints.HORIZONTAL;
+				gbc.weightx = 1.0;
+
+				panel.add(header, gbc);
+
+				gbc.gridy++;
+				gbc.weighty = 1.0;
+				gbc.fill = GridBagConstraints.BOTH;
+
+				panel.add(content, gbc);
+			}
+			panels.add(panel);
+		}
+		return panels;
+	}
+
+	private static Container toolbar(boolean gridBag) {
+		JPanel toolbar = new JPanel(gridBag ? new GridBagLayout() : new ToolbarLayout(true));
+
+		for (int i = 0; i < DOCKABLES; i++) {
+			toolbar.add(new JToggleButton("panel " + i));
+		}
+		rebuildToolbar(toolbar, gridBag);
+
+		return toolbar;
+	}
+
+	// the GridBagLayout toolbar rebuilt all of its constraints each time a dockable was added or removed
+	private static void rebuildToolbar(JPanel toolbar, boolean gridBag) {
+		if (!gridBag) {
+			return;
+		}
+
+		List<Component> buttons = new ArrayList<>();
+
+		for (Component component : toolbar.getComponents()) {
+			if (component instanceof JToggleButton) {
+				buttons.add(component);
+			}
+		}
+
+		toolbar.removeAll();
+
+		GridBagConstraints gbc = new GridBagConstraints();
+		gbc.gridx = 0;
+		gbc.gridy = 0;
+
+		for (Component button : buttons) {
+			toolbar.add(button, gbc);
+			gbc.gridy++;
+		}
+
+		gbc.weighty = 1.0;
+		toolbar.add(new JLabel(""), gbc);
+	}
+
+	// time to add the dockables to a toolbar one at a time, laying it out after each
+	private static double timeToolbarFill(boolean gridBag) {
+		List<JToggleButton> buttons = new ArrayList<>();
+
+		for (int i = 0; i < DOCKABLES; i++) {
+			buttons.add(new JToggleButton("panel " + i));
+		}
+
+		JPanel toolbar = new JPanel(gridBag ? new GridBagLayout() : new ToolbarLayout(true));
+		toolbar.setSize(100, 800);
+
+		long start = System.nanoTime();
+
+		for (JToggleButton button : buttons) {
+			toolbar.add(button);
+			rebuildToolbar(toolbar, gridBag);
+
+			toolbar.invalidate();
+			toolbar.doLayout();
+		}
+		return (System.nanoTime() - start) / 1_000_000.0;
+	}
+}
@@ -46,7 +46,7 @@ public interface Dockable {
 
 	// provide the tab text to the docking framework
 	// the tab text to be displayed when Dockable is in a tabbed pane. Does not need to be unique
-	// NOTE: this text should be static. If it needs to change, then the Dockable needs to be undocked and docked again.
+	// NOTE: if this text changes, call Docking.updateTabText to update it where it is displayed
 	String getTabText();
 
 	// provide the dockable icon to the docking framework
@@ -114,10 +114,28 @@ public interface Dockable {
 	default void onDocked() {
 	}
 
+	// called the first time the Dockable is shown. when deferred content is enabled with Docking.setDeferContent the Dockable
+	// is only added to its window at this point, making this a good place to load the data it displays. called again if the
+	// Dockable is shown after being undocked long enough for its header and display panel to be released
+	default void onRealized() {
+	}
+
+	// called when the Dockable becomes visible to the user. for example when its tab is selected, its unpinned panel is opened
+	// or its window is restored from being iconified
+	default void onShown() {
+	}
+
+	// called when the Dockable can no longer be seen. for example when another tab is selected, its unpinned panel closes,
+	// another dockable is maximized, its window is iconified or it's undocked. expensive updates can be paused until onShown
+	default void onHidden() {
+	}
+
 	// called after the Dockable has been undocked
 	default void onUndocked() {
 	}
 
+	// properties saved with the layout and passed back to setProperties when it's restored.
+	// call Docking.updateProperties when they change so that the current layout picks them up
     default Map<String, String> getProperties() {
 		return new HashMap<>();
 	}
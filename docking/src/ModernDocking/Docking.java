@@ -32,6 +32,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.*;
+import java.util.List;
 
 import static ModernDocking.internal.DockingInternal.getDockable;
 import static ModernDocking.internal.DockingInternal.getWrapper;
@@ -54,6 +55,9 @@ public class Docking {
 
 	private static boolean isInOnDockingCallback = false;
 
+	// how many calls to batch we are currently inside of
+	private static int batchDepth = 0;
+
 	/**
 	 * Create the one and only instance of the Docking class for the application
 	 * @param mainWindow The main window of the application
@@ -67,6 +71,8 @@ public class Docking {
 		instance = this;
 
 		FloatListener.reset();
+		DockingLayoutModel.reset();
+		WindowZOrder.reset();
 	}
 
 	public static Docking getInstance() {
@@ -91,6 +97,22 @@ public class Docking {
 		DockingInternal.deregisterDockable(dockable);
 	}
 
+	// check if a dockable with the persistent ID has been registered
+	public static boolean hasDockable(String persistentID) {
+		return DockingInternal.hasDockable(persistentID);
+	}
+
+	// register a factory that creates dockables when a layout is restored that uses a persistent ID that hasn't been registered.
+	// the ID can be an exact persistent ID or a pattern using * and ?, such as "editor-*". exact IDs are checked first,
+	// then the patterns in the order they were registered
+	public static void registerDockableFactory(String persistentID, DockableFactory factory) {
+		DockingInternal.registerDockableFactory(persistentID, factory);
+	}
+
+	public static void deregisterDockableFactory(String persistentID) {
+		DockingInternal.deregisterDockableFactory(persistentID);
+	}
+
 	// registration function for DockingPanel
 	public static void registerDockingPanel(RootDockingPanel panel, JFrame parent) {
 		if (instance.rootPanels.containsKey(parent)) {
@@ -98,9 +120,12 @@ public class Docking {
 		}
 
 		instance.rootPanels.put(parent, panel);
-		FloatListener.registerDockingWindow(parent, panel);
 
 		instance.appStatePersister.addFrame(parent);
+
+		WindowZOrder.register(parent);
+
+		DockingLayoutModel.windowChanged(parent);
 	}
 
 	public static void registerDockingPanel(RootDockingPanel panel, JDialog parent) {
@@ -109,9 +134,12 @@ public class Docking {
 		}
 
 		instance.rootPanels.put(parent, panel);
-		FloatListener.registerDockingWindow(parent, panel);
 
 		instance.appStatePersister.addFrame(parent);
+
+		WindowZOrder.register(parent);
+
+		DockingLayoutModel.windowChanged(parent);
 	}
 
 	// allows the user to configure pinning per window. by default pinning is only enabled on the frames the docking framework creates
@@ -125,6 +153,55 @@ public class Docking {
 		root.setPinningLayer(layer);
 	}
 
+	// allows the user to configure how the docking handles and overlays are drawn per window. by default they are drawn in a separate translucent frame
+	public static void configureOverlayMode(Window window, DockingOverlayMode mode) {
+		if (!instance.rootPanels.containsKey(window)) {
+			throw new DockableRegistrationFailureException("No root panel for window has been registered.");
+		}
+
+		RootDockingPanel root = DockingComponentUtils.rootForWindow(window);
+		root.setOverlayMode(mode);
+
+		FloatListener.deregisterDockingWindow(window);
+	}
+
+	// defer adding dockables to their windows until they're first shown. hidden tabs and unpinned panels use a placeholder until
+	// then and Dockable.onRealized is called when the real content is added. applies to every display panel created after it's
+	// set. display panels are created when a dockable is first docked and again when it's docked after its UI was released
+	public static void setDeferContent(boolean defer) {
+		DisplayPanel.setDeferContent(defer);
+	}
+
+	// set how many times per second the floating dockable and the docking overlays are updated while dragging.
+	// mouse movements in between updates are coalesced. defaults to 0, which uses the refresh rate of the display
+	public static void setDragUpdateRate(int framesPerSecond) {
+		FloatListener.setDragUpdateRate(framesPerSecond);
+	}
+
+	// drag a translucent picture of the dockable instead of the dockable itself. the dockable is only moved once it's dropped,
+	// which avoids laying out heavy content at the start and end of the drag. disabled by default
+	public static void setSnapshotDragPreview(boolean snapshot) {
+		FloatListener.setSnapshotDragPreview(snapshot);
+	}
+
+	// set the average layout time, in milliseconds, above which split dividers are dragged as an outline. the dockables on
+	// both sides are then laid out once when the divider is released. defaults to 16, Integer.MAX_VALUE disables outline dragging
+	public static void setSlowLayoutThreshold(int millis) {
+		DockedSplitPanel.setSlowLayoutThreshold(millis);
+	}
+
+	// dock beside panels by adding to a single multi-split per direction instead of nesting split panels. split layouts are also
+	// restored into multi-splits when this is enabled. disabled by default
+	public static void setMultiSplitsEnabled(boolean enabled) {
+		DockedMultiSplitPanel.setMultiSplitsEnabled(enabled);
+	}
+
+	// set how long, in milliseconds, a dockable has to stay undocked before its header and display panel are released. they're
+	// created again the next time it's docked. defaults to 30 seconds, a negative delay keeps them until the dockable is deregistered
+	public static void setUIReleaseDelay(int millis) {
+		DockableWrapper.setUIReleaseDelay(millis);
+	}
+
 	public static boolean pinningAllowed(Dockable dockable) {
 		RootDockingPanel root = DockingComponentUtils.rootForWindow(DockingComponentUtils.findWindowForDockable(dockable));
 
@@ -141,6 +218,12 @@ public class Docking {
 		instance.rootPanels.remove(parent);
 
 		instance.appStatePersister.removeFrame(parent);
+
+		FloatListener.deregisterDockingWindow(parent);
+
+		WindowZOrder.deregister(parent);
+
+		DockingLayoutModel.windowRemoved(parent);
 	}
 
 	// docks a dockable to the center of the given window
@@ -191,6 +274,8 @@ public class Docking {
 			}
 		}
 
+		minimizeWindow(window);
+
 		root.dock(dockable, region, dividerProportion);
 
 		getWrapper(dockable).setWindow(window);
@@ -249,6 +334,8 @@ public class Docking {
 
 		DockableWrapper wrapper = getWrapper(target);
 
+		minimizeWindow(wrapper.getWindow());
+
 		wrapper.getParent().dock(source, region, dividerProportion);
 
 		getWrapper(source).setWindow(wrapper.getWindow());
@@ -277,6 +364,12 @@ public class Docking {
 		}
 
 		Window window = DockingComponentUtils.findWindowForDockable(dockable);
+
+		// the dockable is hidden behind another maximized dockable
+		if (!isMaximized(dockable)) {
+			minimizeWindow(window);
+		}
+
 		window.setAlwaysOnTop(true);
 		window.setAlwaysOnTop(false);
 
@@ -306,6 +399,11 @@ public class Docking {
 
 		wrapper.setRoot(root);
 
+		// put the docking panels back together before changing them
+		if (!isUnpinned(dockable)) {
+			minimizeWindow(window);
+		}
+
 		if (isUnpinned(dockable)) {
 			root.undock(dockable);
 			wrapper.setParent(null);
@@ -354,7 +452,14 @@ public class Docking {
 		if (window instanceof JDialog) {
 			return false;
 		}
-		return window != instance.mainWindow && !DockingState.maximizeRestoreLayout.containsKey(window);
+		return window != instance.mainWindow;
+	}
+
+	// check if a dockable can currently be seen by the user. false if it's in a hidden tab, a closed unpinned panel,
+	// behind a maximized dockable, in an iconified window or not docked
+	public static boolean isVisible(Dockable dockable) {
+		// dockables without a UI have been undocked for a while, no need to create it
+		return getWrapper(dockable).hasUI() && getWrapper(dockable).getDisplayPanel().isShownToUser();
 	}
 
 	// checks if a dockable is currently maximized
@@ -362,41 +467,44 @@ public class Docking {
 		return getWrapper(dockable).isMaximized();
 	}
 
-	// maximizes a dockable
+	// maximizes a dockable. the dockable is shown in place of the other dockables in its window, they remain docked
 	public static void maximize(Dockable dockable) {
 		Window window = DockingComponentUtils.findWindowForDockable(dockable);
-		RootDockingPanel root = DockingComponentUtils.rootForWindow(window);
+		RootDockingPanel root = window == null ? null : instance.rootPanels.get(window);
 
-		// can only maximize one panel per root
-		if (!DockingState.maximizeRestoreLayout.containsKey(window) && root != null) {
+		// can only maximize one panel per root and unpinned dockables can't be maximized
+		if (root != null && !root.isMaximized() && !isUnpinned(dockable)) {
 			getWrapper(dockable).setMaximized(true);
-			DockingListeners.fireMaximizeEvent(dockable, true);
-
-			WindowLayout layout = DockingState.getWindowLayout(window);
-			layout.setMaximizedDockable(dockable.getPersistentID());
 
-			DockingState.maximizeRestoreLayout.put(window, layout);
+			root.maximize(getWrapper(dockable));
 
-			DockingComponentUtils.undockComponents(root);
-
-			dock(dockable, window);
+			DockingListeners.fireMaximizeEvent(dockable, true);
+			DockingLayoutModel.windowChanged(window);
 		}
 	}
 
 	// minimize a dockable if it is currently maximized
 	public static void minimize(Dockable dockable) {
 		Window window = DockingComponentUtils.findWindowForDockable(dockable);
+		RootDockingPanel root = window == null ? null : instance.rootPanels.get(window);
 
 		// can only minimize if already maximized
-		if (DockingState.maximizeRestoreLayout.containsKey(window)) {
+		if (root != null && root.getMaximizedDockable() == getWrapper(dockable)) {
 			getWrapper(dockable).setMaximized(false);
-			DockingListeners.fireMaximizeEvent(dockable, false);
 
-			DockingState.restoreWindowLayout(window, DockingState.maximizeRestoreLayout.get(window));
+			root.minimize();
+
+			DockingListeners.fireMaximizeEvent(dockable, false);
+			DockingLayoutModel.windowChanged(window);
+		}
+	}
 
-			DockingState.maximizeRestoreLayout.remove(window);
+	// minimize the maximized dockable in the window, if there is one
+	static void minimizeWindow(Window window) {
+		RootDockingPanel root = window == null ? null : instance.rootPanels.get(window);
 
-			DockingInternal.fireDockedEventForFrame(window);
+		if (root != null && root.isMaximized()) {
+			minimize(root.getMaximizedDockable().getDockable());
 		}
 	}
 
@@ -419,7 +527,8 @@ public class Docking {
 		Window window = DockingComponentUtils.findWindowForDockable(dockable);
 		RootDockingPanel root = DockingComponentUtils.rootForWindow(window);
 
-		Component component = (Component) dockable;
+		// the display panel is always in the window, the dockable might not have been added yet if it hasn't been shown
+		Component component = getWrapper(dockable).getDisplayPanel();
 
 		Point posInFrame = component.getLocation();
 		SwingUtilities.convertPointToScreen(posInFrame, component.getParent());
@@ -460,6 +569,16 @@ public class Docking {
 		display(getDockable(persistentID));
 	}
 
+	// find all the docked or unpinned dockables of a type
+	public static List<Dockable> findDockables(int type) {
+		return DockingInternal.findDockables(type, null, null);
+	}
+
+	// find the dockables of a type in a window and in the given state. window and status can be null to match any
+	public static List<Dockable> findDockables(int type, Window window, DockableStatus status) {
+		return DockingInternal.findDockables(type, window, status);
+	}
+
 	// if the dockable is already docked, then bringToFront is called.
 	// if it is not docked, then dock is called, docking it with dockables of the same type
 	public static void display(Dockable dockable) {
@@ -480,22 +599,94 @@ public class Docking {
 		}
 	}
 
+	// run a group of docking operations as a single transaction.
+	// docking events are held until the batch completes. each dockable gets at most one docked, undocked or auto undocked event,
+	// the one for its state at the end of the batch. unpinned and maximize events are delivered once each if they occurred.
+	// the events are delivered in the order they last occurred.
+	// the app state is persisted once and each root is laid out once at the end of the batch.
+	// if any of the operations throw an exception, the layout is rolled back to what it was before the batch and the exception is rethrown.
+	// nested calls to batch become part of the outermost batch
+	public static void batch(Runnable operations) {
+		if (batchDepth > 0) {
+			operations.run();
+			return;
+		}
+
+		// capture the full application layout so that floating windows and unpinned dockables are rolled back as well
+		ApplicationLayout rollbackLayout = DockingState.getApplicationLayout();
+		boolean wasPaused = AppState.isPaused();
+
+		batchDepth++;
+		AppState.setPaused(true);
+		DockingListeners.setDeferEvents(true);
+
+		try {
+			operations.run();
+		}
+		catch (RuntimeException | Error e) {
+			batchDepth--;
+
+			// the events from the failed operations should never be seen, restoring the layout fires its own events
+			DockingListeners.setDeferEvents(false);
+			DockingListeners.clearDeferredEvents();
+
+			DockingState.restoreApplicationLayout(rollbackLayout);
+
+			AppState.setPaused(wasPaused);
+			throw e;
+		}
+
+		batchDepth--;
+
+		DockingListeners.setDeferEvents(false);
+
+		for (RootDockingPanel root : instance.rootPanels.values()) {
+			root.revalidate();
+			root.repaint();
+		}
+
+		DockingListeners.fireDeferredEvents();
+
+		AppState.setPaused(wasPaused);
+		AppState.persist();
+	}
+
+	// check if we are currently inside of a call to batch
+	public static boolean isInBatch() {
+		return batchDepth > 0;
+	}
+
+	// let the framework know that the values returned by getProperties have changed. the layouts from DockingState
+	// keep the properties the dockable had when it was docked until this is called
+	public static void updateProperties(Dockable dockable) {
+		DockableWrapper wrapper = getWrapper(dockable);
+
+		if (wrapper.getParent() != null) {
+			wrapper.getParent().propertiesChanged(dockable);
+		}
+	}
+
 	// update the tab text on a dockable if it is in a tabbed panel
 	public static void updateTabText(String persistentID) {
 		updateTabText(getDockable(persistentID));
 	}
 
-	// update the tab text on a dockable if it is in a tabbed panel
+	// update the tab text and icon of a dockable wherever they're displayed: its tab, its header and its unpinned toolbar button.
+	// call this when the values returned by getTabText or getIcon change. nothing is undocked or laid out again
 	public static void updateTabText(Dockable dockable) {
-		if (!isDocked(dockable)) {
-			// if the dockable isn't docked then we don't have to do anything to update its tab text
-			return;
-		}
+		DockableWrapper wrapper = getWrapper(dockable);
 
-		ApplicationLayout layout = DockingState.getApplicationLayout();
+		// a header that hasn't been created yet will pick up the new values when it is
+		if (wrapper.hasUI()) {
+			wrapper.getUI().updateTitle();
+		}
 
-		Docking.undock(dockable);
+		if (wrapper.getParent() != null) {
+			wrapper.getParent().updateTabInfo(dockable);
+		}
 
-		DockingState.restoreApplicationLayout(layout);
+		if (wrapper.isUnpinned() && wrapper.getWindow() != null) {
+			DockingComponentUtils.rootForWindow(wrapper.getWindow()).updateUnpinnedTabInfo(dockable);
+		}
 	}
 }
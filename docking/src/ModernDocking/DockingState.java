@@ -22,22 +22,16 @@ SOFTWARE.
 package ModernDocking;
 
 import ModernDocking.exception.DockableNotFoundException;
-import ModernDocking.exception.DockableRegistrationFailureException;
 import ModernDocking.internal.*;
 import ModernDocking.layouts.*;
 import ModernDocking.persist.*;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.List;
 
 public class DockingState {
-	// cached layout for when a maximized dockable is minimized
-	public static final Map<Window, WindowLayout> maximizeRestoreLayout = new HashMap<>();
-
 	public static RootDockState getRootState(Window window) {
 		RootDockingPanel root = DockingComponentUtils.rootForWindow(window);
 
@@ -48,46 +42,49 @@ public class DockingState {
 		return new RootDockState(root);
 	}
 
+	// the layout is read only, it's shared with the layout model. it can be called from any thread, off the EDT it returns
+	// the last published layout
 	public static WindowLayout getWindowLayout(Window window) {
-		RootDockingPanel root = DockingComponentUtils.rootForWindow(window);
+		WindowLayout layout = DockingLayoutModel.getWindowLayout(window);
 
-		if (root == null) {
+		if (layout == null) {
 			throw new RuntimeException("Root for frame does not exist: " + window);
 		}
-
-		WindowLayout maxLayout = maximizeRestoreLayout.get(window);
-
-		if (maxLayout != null) {
-			return maxLayout;
-		}
-
-		return DockingLayouts.layoutFromRoot(root);
+		return layout;
 	}
 
+	// the layout is maintained by the layout model as docking changes, so this is cheap to call. the layout is read only.
+	// it can be called from any thread, off the EDT it returns the last published layout
 	public static ApplicationLayout getApplicationLayout() {
-		ApplicationLayout layout = new ApplicationLayout();
+		return DockingLayoutModel.getApplicationLayout();
+	}
 
-		layout.setMainFrame(getWindowLayout(Docking.getInstance().getMainWindow()));
+	public static void restoreApplicationLayout(ApplicationLayout layout) {
+		restoreApplicationLayout(layout, false);
+	}
 
-		for (Window frame : Docking.getInstance().getRootPanels().keySet()) {
-			if (frame != Docking.getInstance().getMainWindow()) {
-				layout.addFrame(getWindowLayout(frame));
-			}
-		}
+	// restore the application layout. when reconcile is true the current layout is compared against the new layout
+	// and only the parts that have changed are rebuilt. windows, split panes and panels that already match are left in place
+	public static void restoreApplicationLayout(ApplicationLayout layout, boolean reconcile) {
+		if (reconcile && canReconcile(layout)) {
+			reconcileApplicationLayout(layout);
 
-		return layout;
-	}
+			DockingListeners.fireLayoutRestoredEvent();
+			return;
+		}
 
-	public static void restoreApplicationLayout(ApplicationLayout layout) {
 		// get rid of all existing windows and undock all dockables
 		Set<Window> windows = new HashSet<>(Docking.getInstance().getRootPanels().keySet());
 		for (Window window : windows) {
 			if (window != Docking.getInstance().getMainWindow()) {
+				Docking.minimizeWindow(window);
 				DockingComponentUtils.undockComponents(window);
 				window.dispose();
 			}
 		}
 
+		// restoring inside a Docking.batch, or with the app state paused by the caller, shouldn't persist until they're done
+		boolean paused = AppState.isPaused();
 		AppState.setPaused(true);
 
 		// setup main frame
@@ -100,10 +97,14 @@ public class DockingState {
 			restoreWindowLayout(frame, frameLayout);
 		}
 
-		AppState.setPaused(false);
-		AppState.persist();
+		AppState.setPaused(paused);
+
+		if (!paused) {
+			AppState.persist();
+		}
 
 		DockingInternal.fireDockedEventForAll();
+		DockingListeners.fireLayoutRestoredEvent();
 	}
 
 	public static void restoreWindowLayout(Window window, WindowLayout layout) {
@@ -113,14 +114,10 @@ public class DockingState {
 			throw new RuntimeException("Root for window does not exist: " + window);
 		}
 
-		if (layout.hasSizeAndLocationInformation()) {
-			window.setLocation(layout.getLocation());
-			window.setSize(layout.getSize());
+		applyWindowBounds(window, layout);
 
-			if (window instanceof JFrame) {
-				((JFrame) window).setExtendedState(layout.getState());
-			}
-		}
+		// the hidden docking panels of a maximized root have to be back in the root to undock them
+		Docking.minimizeWindow(window);
 
 		DockingComponentUtils.undockComponents(root);
 
@@ -155,6 +152,432 @@ public class DockingState {
 		}
 	}
 
+	private static void applyWindowBounds(Window window, WindowLayout layout) {
+		if (layout.hasSizeAndLocationInformation()) {
+			window.setLocation(layout.getLocation());
+			window.setSize(layout.getSize());
+
+			if (window instanceof JFrame) {
+				((JFrame) window).setExtendedState(layout.getState());
+			}
+		}
+	}
+
+	// maximized layouts are restored with a full rebuild, they can't be reconciled
+	private static boolean canReconcile(ApplicationLayout layout) {
+		for (RootDockingPanel root : Docking.getInstance().getRootPanels().values()) {
+			if (root.isMaximized()) {
+				return false;
+			}
+		}
+
+		if (layout.getMainFrameLayout().getMaximizedDockable() != null) {
+			return false;
+		}
+
+		for (WindowLayout frameLayout : layout.getFloatingFrameLayouts()) {
+			if (frameLayout.getMaximizedDockable() != null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void reconcileApplicationLayout(ApplicationLayout layout) {
+		Window mainWindow = Docking.getInstance().getMainWindow();
+
+		// pair each window layout with the existing window that shares the most dockables with it
+		Map<WindowLayout, Window> windows = new LinkedHashMap<>();
+		windows.put(layout.getMainFrameLayout(), mainWindow);
+
+		Set<Window> unmatchedWindows = new HashSet<>(Docking.getInstance().getRootPanels().keySet());
+		unmatchedWindows.remove(mainWindow);
+
+		for (WindowLayout frameLayout : layout.getFloatingFrameLayouts()) {
+			Set<String> ids = layoutPersistentIDs(frameLayout);
+
+			Window bestMatch = null;
+			int bestCount = 0;
+
+			for (Window window : unmatchedWindows) {
+				Set<String> shared = rootPersistentIDs(DockingComponentUtils.rootForWindow(window));
+				shared.retainAll(ids);
+
+				if (shared.size() > bestCount) {
+					bestMatch = window;
+					bestCount = shared.size();
+				}
+			}
+
+			if (bestMatch != null) {
+				unmatchedWindows.remove(bestMatch);
+			}
+			windows.put(frameLayout, bestMatch);
+		}
+
+		// everything that is docked right now, used to figure out which events to fire at the end
+		Set<String> previouslyDocked = new HashSet<>();
+		for (RootDockingPanel root : Docking.getInstance().getRootPanels().values()) {
+			previouslyDocked.addAll(rootPersistentIDs(root));
+		}
+
+		// find the panels and toolbars that can stay exactly where they are
+		Map<Window, Set<String>> kept = new HashMap<>();
+		Set<Window> keptToolbars = new HashSet<>();
+
+		for (Map.Entry<WindowLayout, Window> entry : windows.entrySet()) {
+			Window window = entry.getValue();
+
+			if (window == null) {
+				continue;
+			}
+
+			RootDockingPanel root = DockingComponentUtils.rootForWindow(window);
+			Set<String> keptIDs = new HashSet<>();
+
+			findKeptPanels(root.getPanel(), entry.getKey().getRootNode(), keptIDs);
+			kept.put(window, keptIDs);
+
+			if (toolbarsMatch(root, entry.getKey())) {
+				keptToolbars.add(window);
+			}
+		}
+
+		boolean paused = AppState.isPaused();
+		AppState.setPaused(true);
+
+		// pull every dockable that is moving or going away out of its current panel.
+		// the panels they leave behind are replaced while reconciling, so we don't collapse the tree here
+		for (Map.Entry<Window, RootDockingPanel> entry : new HashMap<>(Docking.getInstance().getRootPanels()).entrySet()) {
+			Window window = entry.getKey();
+			RootDockingPanel root = entry.getValue();
+
+			Set<String> keptIDs = kept.getOrDefault(window, Collections.emptySet());
+
+			for (String persistentID : panelPersistentIDs(root.getPanel())) {
+				if (!keptIDs.contains(persistentID)) {
+					detachDockable(DockingInternal.getWrapper(getDockable(persistentID)));
+				}
+			}
+
+			if (!keptToolbars.contains(window)) {
+				for (String persistentID : unpinnedPersistentIDs(root)) {
+					Dockable dockable = getDockable(persistentID);
+					DockableWrapper wrapper = DockingInternal.getWrapper(dockable);
+
+					root.undock(dockable);
+					wrapper.setParent(null);
+					wrapper.setUnpinned(false);
+					wrapper.setWindow(null);
+				}
+			}
+		}
+
+		// windows that aren't in the new layout are empty now and can be closed
+		for (Window window : unmatchedWindows) {
+			window.dispose();
+		}
+
+		Set<String> placed = new HashSet<>();
+
+		for (Map.Entry<WindowLayout, Window> entry : windows.entrySet()) {
+			WindowLayout windowLayout = entry.getKey();
+			Window window = entry.getValue();
+
+			if (window == null) {
+				window = new FloatingFrame(windowLayout.getLocation(), windowLayout.getSize(), windowLayout.getState());
+			}
+			else {
+				applyWindowBounds(window, windowLayout);
+			}
+
+			RootDockingPanel root = DockingComponentUtils.rootForWindow(window);
+
+			DockingPanel current = root.getPanel();
+			DockingPanel panel = reconcilePanel(current, windowLayout.getRootNode(), window, placed);
+
+			if (panel == null && current != null) {
+				root.removeChild(current);
+			}
+			else if (panel != current) {
+				root.setPanel(panel);
+			}
+
+			undockFailedComponents(root);
+
+			if (!keptToolbars.contains(entry.getValue())) {
+				restoreUnpinned(root, windowLayout.getWestUnpinnedToolbarIDs(), DockableToolbar.Location.WEST, placed);
+				restoreUnpinned(root, windowLayout.getEastUnpinnedToolbarIDs(), DockableToolbar.Location.EAST, placed);
+				restoreUnpinned(root, windowLayout.getSouthUnpinnedToolbarIDs(), DockableToolbar.Location.SOUTH, placed);
+			}
+		}
+
+		AppState.setPaused(paused);
+
+		if (!paused) {
+			AppState.persist();
+		}
+
+		// only fire events for the dockables that actually changed
+		for (String persistentID : previouslyDocked) {
+			Dockable dockable = getDockable(persistentID);
+
+			if (!Docking.isDocked(dockable)) {
+				DockingListeners.fireUndockedEvent(dockable);
+				dockable.onUndocked();
+			}
+		}
+
+		for (String persistentID : placed) {
+			Dockable dockable = getDockable(persistentID);
+
+			if (Docking.isDocked(dockable)) {
+				DockingListeners.fireDockedEvent(dockable);
+			}
+		}
+	}
+
+	// walk the current panels and the new layout together and record the dockables in panels that match exactly
+	private static void findKeptPanels(DockingPanel panel, DockingLayoutNode node, Set<String> keptIDs) {
+		if (node instanceof DockingSimplePanelNode && panel instanceof DockedSimplePanel) {
+			String persistentID = ((DockedSimplePanel) panel).getWrapper().getDockable().getPersistentID();
+
+			if (persistentID.equals(((DockingSimplePanelNode) node).getPersistentID())) {
+				keptIDs.add(persistentID);
+			}
+		}
+		else if (node instanceof DockingTabPanelNode && panel instanceof DockedTabbedPanel) {
+			List<String> persistentIDs = ((DockedTabbedPanel) panel).persistentIDs();
+
+			if (persistentIDs.equals(((DockingTabPanelNode) node).getPersistentIDs())) {
+				keptIDs.addAll(persistentIDs);
+			}
+		}
+		else if (node instanceof DockingSplitPanelNode && panel instanceof DockedSplitPanel) {
+			findKeptPanels(((DockedSplitPanel) panel).getLeft(), ((DockingSplitPanelNode) node).getLeft(), keptIDs);
+			findKeptPanels(((DockedSplitPanel) panel).getRight(), ((DockingSplitPanelNode) node).getRight(), keptIDs);
+		}
+		else if (node instanceof DockingMultiSplitPanelNode && panel instanceof DockedMultiSplitPanel) {
+			List<DockingPanel> panels = ((DockedMultiSplitPanel) panel).getPanels();
+			List<DockingLayoutNode> children = ((DockingMultiSplitPanelNode) node).getChildren();
+
+			for (int i = 0; i < Math.min(panels.size(), children.size()); i++) {
+				findKeptPanels(panels.get(i), children.get(i), keptIDs);
+			}
+		}
+	}
+
+	// returns the panel that should be used for the node. this is either the existing panel or a new panel if the existing panel doesn't match
+	private static DockingPanel reconcilePanel(DockingPanel panel, DockingLayoutNode node, Window window, Set<String> placed) {
+		if (node instanceof DockingSimplePanelNode) {
+			DockingSimplePanelNode simpleNode = (DockingSimplePanelNode) node;
+
+			if (panel instanceof DockedSimplePanel) {
+				DockableWrapper wrapper = ((DockedSimplePanel) panel).getWrapper();
+
+				if (wrapper.getParent() == panel && wrapper.getDockable().getPersistentID().equals(simpleNode.getPersistentID())) {
+					wrapper.getDockable().setProperties(simpleNode.getProperties());
+					panel.propertiesChanged(wrapper.getDockable());
+					return panel;
+				}
+			}
+
+			Dockable dockable = getDockable(simpleNode.getPersistentID());
+			dockable.setProperties(simpleNode.getProperties());
+
+			DockableWrapper wrapper = DockingInternal.getWrapper(dockable);
+			wrapper.setWindow(window);
+
+			placed.add(simpleNode.getPersistentID());
+
+			return new DockedSimplePanel(wrapper);
+		}
+		else if (node instanceof DockingTabPanelNode) {
+			DockingTabPanelNode tabNode = (DockingTabPanelNode) node;
+
+			DockedTabbedPanel tabbedPanel;
+
+			if (panel instanceof DockedTabbedPanel && ((DockedTabbedPanel) panel).persistentIDs().equals(tabNode.getPersistentIDs())) {
+				tabbedPanel = (DockedTabbedPanel) panel;
+			}
+			else {
+				tabbedPanel = new DockedTabbedPanel();
+
+				for (String persistentID : tabNode.getPersistentIDs()) {
+					DockableWrapper wrapper = DockingInternal.getWrapper(getDockable(persistentID));
+					wrapper.setWindow(window);
+
+					tabbedPanel.addPanel(wrapper);
+
+					placed.add(persistentID);
+				}
+			}
+
+			if (!tabNode.getSelectedTabID().isEmpty()) {
+				tabbedPanel.bringToFront(getDockable(tabNode.getSelectedTabID()));
+			}
+			return tabbedPanel;
+		}
+		else if (node instanceof DockingSplitPanelNode) {
+			DockingSplitPanelNode splitNode = (DockingSplitPanelNode) node;
+
+			// reuse the existing split pane if there is one, only its children might have to change
+			DockedSplitPanel split = panel instanceof DockedSplitPanel ? (DockedSplitPanel) panel : new DockedSplitPanel(window);
+
+			DockingPanel left = reconcilePanel(split.getLeft(), splitNode.getLeft(), window, placed);
+			DockingPanel right = reconcilePanel(split.getRight(), splitNode.getRight(), window, placed);
+
+			if (left != split.getLeft()) {
+				split.setLeft(left);
+			}
+			if (right != split.getRight()) {
+				split.setRight(right);
+			}
+
+			if (split.getSplitPane().getOrientation() != splitNode.getOrientation()) {
+				split.setOrientation(splitNode.getOrientation());
+			}
+			split.setDividerLocation(splitNode.getDividerProportion());
+
+			return split;
+		}
+		else if (node instanceof DockingMultiSplitPanelNode) {
+			DockingMultiSplitPanelNode multiSplitNode = (DockingMultiSplitPanelNode) node;
+			List<DockingLayoutNode> children = multiSplitNode.getChildren();
+
+			// reuse the existing multi-split if it has the same shape, only its children might have to change
+			if (panel instanceof DockedMultiSplitPanel && ((DockedMultiSplitPanel) panel).getOrientation() == multiSplitNode.getOrientation() &&
+					((DockedMultiSplitPanel) panel).getPanels().size() == children.size()) {
+				DockedMultiSplitPanel multiSplit = (DockedMultiSplitPanel) panel;
+				List<DockingPanel> currentPanels = new ArrayList<>(multiSplit.getPanels());
+
+				for (int i = 0; i < children.size(); i++) {
+					DockingPanel current = currentPanels.get(i);
+					DockingPanel child = reconcilePanel(current, children.get(i), window, placed);
+
+					if (child != current) {
+						multiSplit.replaceChild(current, child);
+					}
+				}
+
+				// a child that was merged into the multi-split changes the number of panels, its weights were already applied
+				if (multiSplit.getPanels().size() == multiSplitNode.getWeights().size()) {
+					multiSplit.setWeights(multiSplitNode.getWeights());
+				}
+
+				return multiSplit;
+			}
+			DockedMultiSplitPanel multiSplit = new DockedMultiSplitPanel(window, multiSplitNode.getOrientation());
+
+			for (int i = 0; i < children.size(); i++) {
+				multiSplit.addPanel(reconcilePanel(null, children.get(i), window, placed), multiSplitNode.getWeights().get(i));
+			}
+			return multiSplit;
+		}
+		return null;
+	}
+
+	// remove the dockable from its current panel without collapsing the panel. the panel is about to be replaced
+	private static void detachDockable(DockableWrapper wrapper) {
+		DockingPanel parent = wrapper.getParent();
+
+		if (parent instanceof DockedTabbedPanel) {
+			((DockedTabbedPanel) parent).removePanel(wrapper);
+		}
+		else if (parent != null) {
+			parent.remove(wrapper.getDisplayPanel());
+			wrapper.setParent(null);
+		}
+		wrapper.setWindow(null);
+	}
+
+	private static void restoreUnpinned(RootDockingPanel root, List<String> persistentIDs, DockableToolbar.Location location, Set<String> placed) {
+		for (String persistentID : persistentIDs) {
+			Dockable dockable = getDockable(persistentID);
+			DockableWrapper wrapper = DockingInternal.getWrapper(dockable);
+
+			// the dockable might still be docked in another window that is being kept
+			detachDockable(wrapper);
+
+			root.setDockableUnpinned(dockable, location);
+			root.hideUnpinnedPanels();
+
+			wrapper.setWindow(root.getWindow());
+			wrapper.setUnpinned(true);
+
+			placed.add(persistentID);
+		}
+	}
+
+	private static boolean toolbarsMatch(RootDockingPanel root, WindowLayout layout) {
+		return root.getWestUnpinnedToolbarIDs().equals(layout.getWestUnpinnedToolbarIDs()) &&
+				root.getEastUnpinnedToolbarIDs().equals(layout.getEastUnpinnedToolbarIDs()) &&
+				root.getSouthUnpinnedToolbarIDs().equals(layout.getSouthUnpinnedToolbarIDs());
+	}
+
+	private static List<String> unpinnedPersistentIDs(RootDockingPanel root) {
+		List<String> persistentIDs = new ArrayList<>(root.getWestUnpinnedToolbarIDs());
+		persistentIDs.addAll(root.getEastUnpinnedToolbarIDs());
+		persistentIDs.addAll(root.getSouthUnpinnedToolbarIDs());
+		return persistentIDs;
+	}
+
+	// all the dockables in the root, docked and unpinned
+	private static Set<String> rootPersistentIDs(RootDockingPanel root) {
+		Set<String> persistentIDs = new HashSet<>(panelPersistentIDs(root.getPanel()));
+		persistentIDs.addAll(unpinnedPersistentIDs(root));
+		return persistentIDs;
+	}
+
+	private static List<String> panelPersistentIDs(DockingPanel panel) {
+		List<String> persistentIDs = new ArrayList<>();
+
+		if (panel instanceof DockedSimplePanel) {
+			persistentIDs.add(((DockedSimplePanel) panel).getWrapper().getDockable().getPersistentID());
+		}
+		else if (panel instanceof DockedTabbedPanel) {
+			persistentIDs.addAll(((DockedTabbedPanel) panel).persistentIDs());
+		}
+		else if (panel instanceof DockedSplitPanel) {
+			persistentIDs.addAll(panelPersistentIDs(((DockedSplitPanel) panel).getLeft()));
+			persistentIDs.addAll(panelPersistentIDs(((DockedSplitPanel) panel).getRight()));
+		}
+		else if (panel instanceof DockedMultiSplitPanel) {
+			for (DockingPanel child : ((DockedMultiSplitPanel) panel).getPanels()) {
+				persistentIDs.addAll(panelPersistentIDs(child));
+			}
+		}
+		return persistentIDs;
+	}
+
+	private static Set<String> layoutPersistentIDs(WindowLayout layout) {
+		Set<String> persistentIDs = new HashSet<>(layout.getWestUnpinnedToolbarIDs());
+		persistentIDs.addAll(layout.getEastUnpinnedToolbarIDs());
+		persistentIDs.addAll(layout.getSouthUnpinnedToolbarIDs());
+
+		nodePersistentIDs(layout.getRootNode(), persistentIDs);
+
+		return persistentIDs;
+	}
+
+	private static void nodePersistentIDs(DockingLayoutNode node, Set<String> persistentIDs) {
+		if (node instanceof DockingSimplePanelNode) {
+			persistentIDs.add(((DockingSimplePanelNode) node).getPersistentID());
+		}
+		else if (node instanceof DockingTabPanelNode) {
+			persistentIDs.addAll(((DockingTabPanelNode) node).getPersistentIDs());
+		}
+		else if (node instanceof DockingSplitPanelNode) {
+			nodePersistentIDs(((DockingSplitPanelNode) node).getLeft(), persistentIDs);
+			nodePersistentIDs(((DockingSplitPanelNode) node).getRight(), persistentIDs);
+		}
+		else if (node instanceof DockingMultiSplitPanelNode) {
+			for (DockingLayoutNode child : ((DockingMultiSplitPanelNode) node).getChildren()) {
+				nodePersistentIDs(child, persistentIDs);
+			}
+		}
+	}
+
 	public static void restoreWindowLayout_PreserveSizeAndPos(Window window, WindowLayout layout) {
 		Point location = window.getLocation();
 		Dimension size = window.getSize();
@@ -200,12 +623,25 @@ public class DockingState {
 		else if (state instanceof TabState) {
 			return restoreTabbed((TabState) state, window);
 		}
+		else if (state instanceof MultiSplitState) {
+			return restoreMultiSplit((MultiSplitState) state, window);
+		}
 		else {
 			throw new RuntimeException("Unknown state type");
 		}
 	}
 
-	private static DockedSplitPanel restoreSplit(SplitState state, Window window) {
+	private static DockingPanel restoreSplit(SplitState state, Window window) {
+		// same as restoring a DockingSplitPanelNode, use a multi-split when they're enabled
+		if (DockedMultiSplitPanel.isMultiSplitsEnabled()) {
+			DockedMultiSplitPanel panel = new DockedMultiSplitPanel(window, state.getOrientation());
+
+			panel.addPanel(restoreState(state.getLeft(), window), state.getDividerProportion());
+			panel.addPanel(restoreState(state.getRight(), window), 1.0 - state.getDividerProportion());
+
+			return panel;
+		}
+
 		DockedSplitPanel panel = new DockedSplitPanel(window);
 
 		panel.setLeft(restoreState(state.getLeft(), window));
@@ -216,6 +652,15 @@ public class DockingState {
 		return panel;
 	}
 
+	private static DockedMultiSplitPanel restoreMultiSplit(MultiSplitState state, Window window) {
+		DockedMultiSplitPanel panel = new DockedMultiSplitPanel(window, state.getOrientation());
+
+		for (int i = 0; i < state.getChildren().size(); i++) {
+			panel.addPanel(restoreState(state.getChildren().get(i), window), state.getWeights().get(i));
+		}
+		return panel;
+	}
+
 	private static DockedTabbedPanel restoreTabbed(TabState state, Window window) {
 		DockedTabbedPanel panel = new DockedTabbedPanel();
 
@@ -262,7 +707,10 @@ public class DockingState {
 		else if (node instanceof DockingTabPanelNode) {
 			return restoreTabbed((DockingTabPanelNode) node, window);
 		}
-		else if (node == null) {
+		else if (node instanceof DockingMultiSplitPanelNode) {
+			return restoreMultiSplit((DockingMultiSplitPanelNode) node, window);
+		}
+		else if (node == null || node instanceof EmptyPanelNode) {
 			// the main window root can contain a null panel if nothing is docked
 			return null;
 		}
@@ -271,7 +719,17 @@ public class DockingState {
 		}
 	}
 
-	private static DockedSplitPanel restoreSplit(DockingSplitPanelNode node, Window window) {
+	private static DockingPanel restoreSplit(DockingSplitPanelNode node, Window window) {
+		// binary splits are restored into multi-splits when they're enabled, which merges nested splits in the same direction
+		if (DockedMultiSplitPanel.isMultiSplitsEnabled()) {
+			DockedMultiSplitPanel panel = new DockedMultiSplitPanel(window, node.getOrientation());
+
+			panel.addPanel(restoreState(node.getLeft(), window), node.getDividerProportion());
+			panel.addPanel(restoreState(node.getRight(), window), 1.0 - node.getDividerProportion());
+
+			return panel;
+		}
+
 		DockedSplitPanel panel = new DockedSplitPanel(window);
 
 		panel.setLeft(restoreState(node.getLeft(), window));
@@ -282,6 +740,15 @@ public class DockingState {
 		return panel;
 	}
 
+	private static DockedMultiSplitPanel restoreMultiSplit(DockingMultiSplitPanelNode node, Window window) {
+		DockedMultiSplitPanel panel = new DockedMultiSplitPanel(window, node.getOrientation());
+
+		for (int i = 0; i < node.getChildren().size(); i++) {
+			panel.addPanel(restoreState(node.getChildren().get(i), window), node.getWeights().get(i));
+		}
+		return panel;
+	}
+
 	private static DockedTabbedPanel restoreTabbed(DockingTabPanelNode node, Window window) {
 		DockedTabbedPanel panel = new DockedTabbedPanel();
 
@@ -324,11 +791,12 @@ public class DockingState {
 		return new DockedSimplePanel(wrapper);
 	}
 
+	// get the dockable, creating it with a registered factory if needed. dockables that can't be found or created are replaced with a FailedDockable
 	private static Dockable getDockable(String persistentID) {
-		try {
-			return DockingInternal.getDockable(persistentID);
-		}
-		catch (DockableRegistrationFailureException ignore) {
+		Dockable dockable = DockingInternal.getOrCreateDockable(persistentID);
+
+		if (dockable != null) {
+			return dockable;
 		}
 		return new FailedDockable(persistentID);
 	}
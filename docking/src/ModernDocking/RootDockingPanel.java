@@ -21,10 +21,14 @@ SOFTWARE.
  */
 package ModernDocking;
 
+import ModernDocking.internal.DisplayPanel;
 import ModernDocking.internal.DockableToolbar;
+import ModernDocking.internal.DockableWrapper;
 import ModernDocking.internal.DockedSimplePanel;
 import ModernDocking.internal.DockingInternal;
 import ModernDocking.internal.DockingPanel;
+import ModernDocking.layouts.DockingLayoutNode;
+import ModernDocking.layouts.EmptyPanelNode;
 
 import javax.swing.*;
 import java.awt.*;
@@ -42,18 +46,26 @@ public class RootDockingPanel extends DockingPanel {
 	private boolean pinningSupported = false;
 	private int pinningLayer = JLayeredPane.MODAL_LAYER;
 
+	// how the docking handles and overlays are drawn over this root
+	private DockingOverlayMode overlayMode = DockingOverlayMode.FRAME;
+
+	// the dockable currently maximized in this root. the docking panels are left intact while a dockable is maximized,
+	// only its display panel is moved into the root and a placeholder takes its spot
+	private DockableWrapper maximizedDockable = null;
+	private final JPanel maximizePlaceholder = new JPanel();
+
 	// "toolbar" panels for unpinned dockables
 	private DockableToolbar southToolbar;
 	private DockableToolbar westToolbar;
 	private DockableToolbar eastToolbar;
 
 	public RootDockingPanel() {
-		setLayout(new GridBagLayout());
+		setLayout(new BorderLayout());
 	}
 
 	public void init(){}
 	public RootDockingPanel(Window window) {
-		setLayout(new GridBagLayout());
+		setLayout(new BorderLayout());
 
 		this.window = window;
 
@@ -111,6 +123,14 @@ public class RootDockingPanel extends DockingPanel {
 		pinningLayer = layer;
 	}
 
+	public DockingOverlayMode getOverlayMode() {
+		return overlayMode;
+	}
+
+	public void setOverlayMode(DockingOverlayMode mode) {
+		overlayMode = mode;
+	}
+
 	public DockingPanel getPanel() {
 		return panel;
 	}
@@ -119,6 +139,70 @@ public class RootDockingPanel extends DockingPanel {
 		return panel == null;
 	}
 
+	public boolean isMaximized() {
+		return maximizedDockable != null;
+	}
+
+	public DockableWrapper getMaximizedDockable() {
+		return maximizedDockable;
+	}
+
+	// show the dockable in place of the docking panels. the dockable must be docked in this root
+	public void maximize(DockableWrapper wrapper) {
+		if (maximizedDockable != null) {
+			return;
+		}
+		maximizedDockable = wrapper;
+
+		DisplayPanel displayPanel = wrapper.getDisplayPanel();
+		swapComponent(displayPanel.getParent(), displayPanel, maximizePlaceholder);
+
+		createContents();
+	}
+
+	// put the maximized dockable back where it came from
+	public void minimize() {
+		if (maximizedDockable == null) {
+			return;
+		}
+		DisplayPanel displayPanel = maximizedDockable.getDisplayPanel();
+		maximizedDockable = null;
+
+		remove(displayPanel);
+		swapComponent(maximizePlaceholder.getParent(), maximizePlaceholder, displayPanel);
+
+		createContents();
+	}
+
+	// replace a component in its parent, keeping its position, constraints and tab
+	private static void swapComponent(Container parent, Component component, Component replacement) {
+		if (parent == null) {
+			return;
+		}
+
+		if (parent instanceof JTabbedPane) {
+			JTabbedPane tabs = (JTabbedPane) parent;
+			tabs.setComponentAt(tabs.indexOfComponent(component), replacement);
+		}
+		else {
+			Object constraints = null;
+
+			if (parent.getLayout() instanceof BorderLayout) {
+				constraints = ((BorderLayout) parent.getLayout()).getConstraints(component);
+			}
+			else if (parent.getLayout() instanceof GridBagLayout) {
+				constraints = ((GridBagLayout) parent.getLayout()).getConstraints(component);
+			}
+
+			int index = parent.getComponentZOrder(component);
+
+			parent.remove(component);
+			parent.add(replacement, constraints, index);
+		}
+		parent.revalidate();
+		parent.repaint();
+	}
+
 	public void setPanel(DockingPanel panel) {
 		this.panel = panel;
 
@@ -127,6 +211,8 @@ public class RootDockingPanel extends DockingPanel {
 
 			createContents();
 		}
+
+		layoutChanged();
 	}
 
 	private boolean removeExistingPanel() {
@@ -199,6 +285,12 @@ public class RootDockingPanel extends DockingPanel {
 		}
 	}
 
+	@Override
+	protected DockingLayoutNode createLayoutNode() {
+		// the main frame root contains an empty node if nothing is docked
+		return panel == null ? new EmptyPanelNode() : panel.getLayoutNode();
+	}
+
 	public void setDockablePinned(Dockable dockable) {
 		// if the dockable is currently unpinned, remove it from the toolbar, then adjust the toolbars
 		if (westToolbar.hasDockable(dockable)) {
@@ -240,6 +332,13 @@ public class RootDockingPanel extends DockingPanel {
 		createContents();
 	}
 
+	// the tab text or icon of an unpinned dockable has changed
+	public void updateUnpinnedTabInfo(Dockable dockable) {
+		westToolbar.updateDockable(dockable);
+		eastToolbar.updateDockable(dockable);
+		southToolbar.updateDockable(dockable);
+	}
+
 	public List<String> unpinnedPersistentIDs(DockableToolbar.Location location) {
 		switch (location) {
 			case WEST: return westToolbar.getPersistentIDs();
@@ -249,54 +348,42 @@ public class RootDockingPanel extends DockingPanel {
 		return Collections.emptyList();
 	}
 
+	// put the right components in the root. only the components that have changed are swapped, the rest are left in place
 	private void createContents() {
-		removeAll();
-
-		GridBagConstraints gbc = new GridBagConstraints();
-
-		gbc.gridx = 0;
-		gbc.gridy = 0;
-		gbc.weightx = 0.0;
-		gbc.weighty = 0.0;
-		gbc.fill = GridBagConstraints.VERTICAL;
-
-		if (westToolbar.shouldDisplay()) {
-			add(westToolbar, gbc);
-			gbc.gridx++;
+		if (maximizedDockable != null) {
+			setContents(maximizedDockable.getDisplayPanel(), BorderLayout.CENTER);
 		}
-
-		gbc.weightx = 1.0;
-		gbc.weighty = 1.0;
-		gbc.fill = GridBagConstraints.BOTH;
-
-		if (panel == null) {
-			add(emptyPanel, gbc);
+		else if (panel == null) {
+			setContents(emptyPanel, BorderLayout.CENTER);
 		}
 		else {
-			add(panel, gbc);
+			setContents(panel, BorderLayout.CENTER);
 		}
-		gbc.gridx++;
 
-		gbc.weightx = 0.0;
-		gbc.weighty = 0.0;
-		gbc.fill = GridBagConstraints.VERTICAL;
+		setContents(westToolbar != null && westToolbar.shouldDisplay() ? westToolbar : null, BorderLayout.WEST);
+		setContents(eastToolbar != null && eastToolbar.shouldDisplay() ? eastToolbar : null, BorderLayout.EAST);
+		setContents(southToolbar != null && southToolbar.shouldDisplay() ? southToolbar : null, BorderLayout.SOUTH);
 
-		if (eastToolbar.shouldDisplay()) {
-			add(eastToolbar, gbc);
-		}
+		revalidate();
+		repaint();
 
-		gbc.gridx = 0;
-		gbc.gridy++;
-		gbc.gridwidth = 3;
-		gbc.weightx = 1.0;
-		gbc.fill = GridBagConstraints.HORIZONTAL;
+		layoutChanged();
+	}
 
-		if (southToolbar.shouldDisplay()) {
-			add(southToolbar, gbc);
+	private void setContents(Component component, String position) {
+		Component current = ((BorderLayout) getLayout()).getLayoutComponent(position);
+
+		if (current == component) {
+			return;
 		}
 
-		revalidate();
-		repaint();
+		if (current != null) {
+			remove(current);
+		}
+
+		if (component != null) {
+			add(component, position);
+		}
 	}
 
 	public void hideUnpinnedPanels() {
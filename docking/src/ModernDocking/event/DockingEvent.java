@@ -0,0 +1,66 @@
+/*
+Copyright (c) 2023 Andrew Auclair
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package ModernDocking.event;
+
+// a docking event published by the DockingEventBus
+public class DockingEvent {
+	public enum Type {
+		DOCKED,
+		UNDOCKED,
+		// undocked because it was alone in a frame with floatingAllowed() = false
+		AUTO_UNDOCKED,
+		UNPINNED,
+		MAXIMIZED,
+		MINIMIZED,
+		// an application layout was restored. there is no dockable for this event
+		LAYOUT_RESTORED
+	}
+
+	private final Type type;
+	private final String persistentID;
+	private final long timestamp;
+
+	public DockingEvent(Type type, String persistentID) {
+		this.type = type;
+		this.persistentID = persistentID;
+		this.timestamp = System.currentTimeMillis();
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	// the persistent ID of the dockable, null for LAYOUT_RESTORED
+	public String getPersistentID() {
+		return persistentID;
+	}
+
+	// the time the event occurred, in milliseconds since the epoch
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	@Override
+	public String toString() {
+		return type + (persistentID != null ? " " + persistentID : "");
+	}
+}
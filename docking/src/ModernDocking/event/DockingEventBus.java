@@ -0,0 +1,118 @@
+/*
+Copyright (c) 2023 Andrew Auclair
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package ModernDocking.event;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicLong;
+
+// publishes docking events to subscribers off the EDT. the events that happen together, for example all the events from restoring
+// a layout, are delivered as a single batch once the EDT is done with them. subscribers control how many batches they receive
+// with Flow.Subscription.request and each subscriber has its own buffer. if a subscriber falls so far behind that its buffer is full
+// the batch is dropped for that subscriber instead of blocking the EDT.
+// the DockingListener and MaximizeListener interfaces are still called synchronously on the EDT
+public class DockingEventBus {
+	private static Executor executor = ForkJoinPool.commonPool();
+	private static int bufferSize = Flow.defaultBufferSize();
+
+	// created when the first subscriber subscribes
+	private static volatile SubmissionPublisher<List<DockingEvent>> publisher = null;
+
+	// events collected on the EDT for the next batch
+	private static List<DockingEvent> pendingEvents = new ArrayList<>();
+	private static boolean flushQueued = false;
+
+	private static final AtomicLong droppedBatches = new AtomicLong();
+
+	// the publisher of the event batches
+	public static synchronized Flow.Publisher<List<DockingEvent>> getPublisher() {
+		if (publisher == null) {
+			publisher = new SubmissionPublisher<>(executor, bufferSize);
+		}
+		return publisher;
+	}
+
+	public static void subscribe(Flow.Subscriber<? super List<DockingEvent>> subscriber) {
+		getPublisher().subscribe(subscriber);
+	}
+
+	// set the executor that the batches are delivered on and the number of batches buffered for each subscriber.
+	// defaults to the common fork join pool. SwingUtilities::invokeLater can be used to deliver on the EDT.
+	// existing subscribers are completed and must subscribe again
+	public static synchronized void setExecutor(Executor executor, int bufferSize) {
+		DockingEventBus.executor = executor;
+		DockingEventBus.bufferSize = bufferSize;
+
+		if (publisher != null) {
+			publisher.close();
+			publisher = null;
+		}
+	}
+
+	// the number of batches that were dropped because a subscriber's buffer was full
+	public static long getDroppedBatchCount() {
+		return droppedBatches.get();
+	}
+
+	// add an event to the current batch. called by the framework on the EDT
+	public static void publish(DockingEvent event) {
+		SubmissionPublisher<List<DockingEvent>> current = publisher;
+
+		// nobody is listening, don't bother collecting events
+		if (current == null || !current.hasSubscribers()) {
+			return;
+		}
+
+		pendingEvents.add(event);
+
+		// deliver the batch once the current round of changes is done
+		if (!flushQueued) {
+			flushQueued = true;
+
+			SwingUtilities.invokeLater(DockingEventBus::flush);
+		}
+	}
+
+	private static void flush() {
+		flushQueued = false;
+
+		List<DockingEvent> batch = Collections.unmodifiableList(pendingEvents);
+		pendingEvents = new ArrayList<>();
+
+		SubmissionPublisher<List<DockingEvent>> current = publisher;
+
+		if (current == null || batch.isEmpty()) {
+			return;
+		}
+
+		current.offer(batch, (subscriber, item) -> {
+			droppedBatches.incrementAndGet();
+			return false;
+		});
+	}
+}
@@ -28,10 +28,24 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
 
 public class DockingHandle extends JLabel implements ComponentListener {
 	public static final int HANDLE_ICON_SIZE = 32;
 
+	// the root handle backgrounds extend this far past the handle
+	private static final int SPRITE_MARGIN = 8;
+
+	private static final Stroke DASHED_STROKE = new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{3}, 0);
+
+	// pre-rendered images of every handle state (region, root or dockable, mouse over), shared by all the handles.
+	// rendered when first needed and thrown away when the theme, screen scale or handle size changes
+	private static final BufferedImage[] sprites = new BufferedImage[DockingRegion.values().length * 4];
+	private static int spritesVersion = -1;
+	private static double spritesScale = -1;
+	private static int spritesHandleSize = -1;
+
 	private final DockingRegion region;
 	private final boolean isRoot;
 
@@ -94,10 +108,46 @@ public class DockingHandle extends JLabel implements ComponentListener {
 	public void componentHidden(ComponentEvent e) {
 	}
 
-	// g is used to do the main paint operations
-	// g2 is used to draw the dashed lines on top
-	public void paintHandle(Graphics g, Graphics2D g2, boolean mouseOver) {
-		Rectangle bounds = getBounds();
+	// draw the pre-rendered image of this handle in its current state
+	public void paintHandle(Graphics g, boolean mouseOver) {
+		double scale = g instanceof Graphics2D ? ((Graphics2D) g).getTransform().getScaleX() : 1.0;
+
+		BufferedImage sprite = getSprite(mouseOver, scale);
+
+		int size = getWidth() + (SPRITE_MARGIN * 2) + 1;
+
+		g.drawImage(sprite, getX() - SPRITE_MARGIN, getY() - SPRITE_MARGIN, size, size, null);
+	}
+
+	private BufferedImage getSprite(boolean mouseOver, double scale) {
+		// the sprites are only good for the current theme, screen scale and handle size
+		if (spritesVersion != DockingProperties.getVersion() || spritesScale != scale || spritesHandleSize != getWidth()) {
+			Arrays.fill(sprites, null);
+
+			spritesVersion = DockingProperties.getVersion();
+			spritesScale = scale;
+			spritesHandleSize = getWidth();
+		}
+
+		int index = (region.ordinal() * 4) + (isRoot ? 2 : 0) + (mouseOver ? 1 : 0);
+
+		if (sprites[index] == null) {
+			sprites[index] = renderSprite(mouseOver, scale);
+		}
+		return sprites[index];
+	}
+
+	// render the handle into an image at the resolution of the screen
+	private BufferedImage renderSprite(boolean mouseOver, double scale) {
+		int size = getWidth() + (SPRITE_MARGIN * 2) + 1;
+		int pixels = (int) Math.ceil(size * scale);
+
+		BufferedImage sprite = new BufferedImage(pixels, pixels, BufferedImage.TYPE_INT_ARGB);
+
+		Graphics2D g = sprite.createGraphics();
+		g.scale(pixels / (double) size, pixels / (double) size);
+
+		Rectangle bounds = new Rectangle(SPRITE_MARGIN, SPRITE_MARGIN, getWidth(), getHeight());
 
 		Color background = DockingProperties.getHandlesBackground();
 		Color hover = DockingProperties.getHandlesFill();
@@ -107,37 +157,41 @@ public class DockingHandle extends JLabel implements ComponentListener {
 		// the dockables all share one big root that is drawn in DockingHandles
 		if (isRoot) {
 			g.setColor(background);
-			drawBackground(g);
+			drawBackground(g, bounds);
 		}
 
 		if (mouseOver) {
 			g.setColor(hover);
-			fillMouseOverRegion(g);
+			fillMouseOverRegion(g, bounds);
 		}
 
 		// only draw the dashed line if the region isn't center and these are not root handles
 		if (region != DockingRegion.CENTER && !isRoot) {
-			drawDashedLine(g2);
+			drawDashedLine(g, bounds);
 		}
 
 		// draw the outline over the mouse over
 		g.setColor(outline);
 
 		if (isRoot && region != DockingRegion.CENTER) {
-			drawRootOutline(g);
+			drawRootOutline(g, bounds);
 		}
 		else {
 			g.drawRect(bounds.x, bounds.y, bounds.width, bounds.height);
 		}
+
+		g.dispose();
+
+		return sprite;
 	}
 
-	private void drawBackground(Graphics g) {
+	private void drawBackground(Graphics g, Rectangle bounds) {
 		int spacing = 8;
 
-		int x = getX() - spacing;
-		int y = getY() - spacing;
-		int width = getWidth() + (spacing * 2);
-		int height = getHeight() + (spacing * 2);
+		int x = bounds.x - spacing;
+		int y = bounds.y - spacing;
+		int width = bounds.width + (spacing * 2);
+		int height = bounds.height + (spacing * 2);
 
 		g.fillRect(x, y, width, height);
 
@@ -147,9 +201,7 @@ public class DockingHandle extends JLabel implements ComponentListener {
 		g.drawRect(x, y, width, height);
 	}
 
-	private void drawRootOutline(Graphics g) {
-		Rectangle bounds = getBounds();
-
+	private void drawRootOutline(Graphics g, Rectangle bounds) {
 		boolean north = region == DockingRegion.NORTH;
 		boolean south = region == DockingRegion.SOUTH;
 		boolean east = region == DockingRegion.EAST;
@@ -169,9 +221,7 @@ public class DockingHandle extends JLabel implements ComponentListener {
 		}
 	}
 
-	private void fillMouseOverRegion(Graphics g) {
-		Rectangle bounds = getBounds();
-
+	private void fillMouseOverRegion(Graphics g, Rectangle bounds) {
 		boolean north = region == DockingRegion.NORTH;
 		boolean south = region == DockingRegion.SOUTH;
 		boolean east = region == DockingRegion.EAST;
@@ -191,9 +241,7 @@ public class DockingHandle extends JLabel implements ComponentListener {
 		}
 	}
 
-	private void drawDashedLine(Graphics2D g2) {
-		Rectangle bounds = getBounds();
-
+	private void drawDashedLine(Graphics2D g, Rectangle bounds) {
 		boolean north = region == DockingRegion.NORTH;
 		boolean south = region == DockingRegion.SOUTH;
 
@@ -204,11 +252,11 @@ public class DockingHandle extends JLabel implements ComponentListener {
 		int x2 = north || south ? bounds.x + bounds.width : bounds.x + halfWidth;
 		int y2 = north || south ? bounds.y + halfWidth : bounds.y + bounds.height;
 
-		if (region == DockingRegion.CENTER) {
-			g2.drawLine(bounds.x, bounds.y, bounds.width, bounds.height);
-		}
-		else {
-			g2.drawLine(x, y, x2, y2);
-		}
+		Stroke stroke = g.getStroke();
+		g.setStroke(DASHED_STROKE);
+
+		g.drawLine(x, y, x2, y2);
+
+		g.setStroke(stroke);
 	}
 }
@@ -37,6 +37,9 @@ import static ModernDocking.floating.DockingHandle.HANDLE_ICON_SIZE;
 // handles displaying the handles for docking overlaid on the application
 // only displayed over the currently hit docking panel
 public class DockingHandles {
+	// extra space around the handles for the root handle backgrounds and the outlines
+	private static final int PAINT_MARGIN = 10;
+
 	private final DockingHandle rootCenter = new DockingHandle(DockingRegion.CENTER, true);
 	private final DockingHandle rootWest = new DockingHandle(DockingRegion.WEST, true);
 	private final DockingHandle rootNorth = new DockingHandle(DockingRegion.NORTH, true);
@@ -51,18 +54,32 @@ public class DockingHandles {
 
 	private final Map<DockingHandle, Boolean> mouseOver = new HashMap<>();
 
+	// offsets of the dockable handles background polygon from the center handle. only changes when the handle size changes
+	private int polygonHandleSize = -1;
+	private final int[] polygonXOffsets = new int[17];
+	private final int[] polygonYOffsets = new int[17];
+
+	// reused when painting so that we don't create a new polygon every time
+	private final int[] polygonX = new int[17];
+	private final int[] polygonY = new int[17];
+
+	// the area of the util frame that the handles were last painted in. we only repaint this area and the new area
+	private final Rectangle paintedBounds = new Rectangle();
+	private final Rectangle handleBounds = new Rectangle();
+
 	private DockingRegion rootRegion = null;
 	private DockingRegion dockableRegion = null;
 
-	private final JFrame utilFrame;
-	private final RootDockingPanel targetRoot;
+	// the utility frame or layer that the handles are drawn in
+	private final Container utilFrame;
+	private RootDockingPanel targetRoot;
 
 	// the dockable that we're currently trying to dock and is floating in a TempFloatingFrame
 	private Dockable floating;
 	// the dockable that the mouse is currently over, can be null
 	private Dockable targetDockable = null;
 
-	public DockingHandles(JFrame utilFrame, RootDockingPanel root) {
+	public DockingHandles(Container utilFrame, RootDockingPanel root) {
 		this.utilFrame = utilFrame;
 
 		this.targetRoot = root;
@@ -90,12 +107,24 @@ public class DockingHandles {
 
 	public void setActive(boolean active) {
 		utilFrame.setVisible(active);
+
+		// the frame is painted in full when it's shown
+		paintedBounds.setBounds(0, 0, 0, 0);
 	}
 
 	public void setFloating(Dockable dockable) {
 		floating = dockable;
 	}
 
+	// point the handles at a different root, used when the utility frame is reused for another window
+	public void setTargetRoot(RootDockingPanel root) {
+		targetRoot = root;
+
+		setTarget(null);
+
+		paintedBounds.setBounds(0, 0, 0, 0);
+	}
+
 	private void setupHandle(DockingHandle label) {
 		mouseOver.put(label, false);
 		utilFrame.add(label);
@@ -183,33 +212,25 @@ public class DockingHandles {
 		}
 	}
 
+	// the utility frame or layer must already cover the target root
 	public void update(Point screenPos) {
-		JComponent component = targetRoot;
-
-		Point framePoint = new Point(screenPos);
-		SwingUtilities.convertPointFromScreen(framePoint, component.getParent());
-
-		Point point = (component).getLocation();
-		Dimension size = component.getSize();
-
-		SwingUtilities.convertPointToScreen(point, component.getParent());
-
-		utilFrame.setLocation(point);
-		utilFrame.setSize(size);
-
 		setRootHandleLocations();
 		setDockableHandleLocations();
 
-		framePoint = new Point(screenPos);
+		Point framePoint = new Point(screenPos);
 		SwingUtilities.convertPointFromScreen(framePoint, utilFrame);
 
 		rootRegion = null;
 		dockableRegion = null;
 
+		boolean mouseOverChanged = false;
+
 		for (DockingHandle handle : mouseOver.keySet()) {
 			boolean over = handle.isVisible() && handle.getBounds().contains(framePoint);
 
-			mouseOver.put(handle, over);
+			if (mouseOver.put(handle, over) != over) {
+				mouseOverChanged = true;
+			}
 
 			if (over) {
 				if (handle.isRoot()) {
@@ -221,8 +242,128 @@ public class DockingHandles {
 			}
 		}
 
-		utilFrame.revalidate();
-		utilFrame.repaint();
+		calculateHandleBounds(handleBounds);
+
+		// only repaint if something changed and then only the area where the handles were and are now
+		if (mouseOverChanged || !handleBounds.equals(paintedBounds)) {
+			repaintUnion(utilFrame, paintedBounds, handleBounds);
+
+			paintedBounds.setBounds(handleBounds);
+		}
+	}
+
+	// repaint the area covered by both rectangles, empty rectangles are ignored
+	static void repaintUnion(Component component, Rectangle a, Rectangle b) {
+		if (a.isEmpty() && b.isEmpty()) {
+			return;
+		}
+
+		if (a.isEmpty()) {
+			component.repaint(b.x, b.y, b.width, b.height);
+		}
+		else if (b.isEmpty()) {
+			component.repaint(a.x, a.y, a.width, a.height);
+		}
+		else {
+			int x = Math.min(a.x, b.x);
+			int y = Math.min(a.y, b.y);
+			int width = Math.max(a.x + a.width, b.x + b.width) - x;
+			int height = Math.max(a.y + a.height, b.y + b.height) - y;
+
+			component.repaint(x, y, width, height);
+		}
+	}
+
+	// calculate the area of the util frame that the visible handles and their backgrounds cover
+	private void calculateHandleBounds(Rectangle bounds) {
+		bounds.setBounds(0, 0, 0, 0);
+
+		for (DockingHandle handle : mouseOver.keySet()) {
+			if (handle.isVisible()) {
+				addToBounds(bounds, handle.getX() - PAINT_MARGIN, handle.getY() - PAINT_MARGIN, handle.getWidth() + (PAINT_MARGIN * 2), handle.getHeight() + (PAINT_MARGIN * 2));
+			}
+		}
+
+		// the dockable handles background extends past the handles themselves
+		if (targetDockable != null) {
+			updatePolygonOffsets();
+
+			int centerX = dockableCenter.getX() + (dockableCenter.getWidth() / 2);
+			int centerY = dockableCenter.getY() + (dockableCenter.getWidth() / 2);
+			int extent = polygonXOffsets[4] + 1;
+
+			addToBounds(bounds, centerX - extent, centerY - extent, (extent * 2) + 1, (extent * 2) + 1);
+		}
+	}
+
+	private static void addToBounds(Rectangle bounds, int x, int y, int width, int height) {
+		if (bounds.isEmpty()) {
+			bounds.setBounds(x, y, width, height);
+		}
+		else {
+			int left = Math.min(bounds.x, x);
+			int top = Math.min(bounds.y, y);
+			int right = Math.max(bounds.x + bounds.width, x + width);
+			int bottom = Math.max(bounds.y + bounds.height, y + height);
+
+			bounds.setBounds(left, top, right - left, bottom - top);
+		}
+	}
+
+	// the shape of the background polygon only depends on the size of the handles
+	private void updatePolygonOffsets() {
+		int handleSize = dockableCenter.getWidth();
+
+		if (handleSize == polygonHandleSize) {
+			return;
+		}
+		polygonHandleSize = handleSize;
+
+		int spacing = handleSpacing(dockableCenter) - handleSize;
+		int half_icon = handleSize / 2;
+		int one_and_a_half_icons = (int) (handleSize * 1.5);
+
+		int[] x = new int[] {
+				-half_icon - spacing,
+				half_icon + spacing,
+				half_icon + spacing,
+				half_icon + (spacing * 2),
+				one_and_a_half_icons + (spacing * 2),
+				one_and_a_half_icons + (spacing * 2),
+				half_icon + (spacing * 2),
+				half_icon + spacing,
+				half_icon + spacing,
+				-half_icon - spacing,
+				-half_icon - spacing,
+				-half_icon - (spacing * 2),
+				-one_and_a_half_icons - (spacing * 2),
+				-one_and_a_half_icons - (spacing * 2),
+				-half_icon - (spacing * 2),
+				-half_icon - spacing,
+				-half_icon - spacing
+		};
+		int[] y = new int[] {
+				-one_and_a_half_icons - (spacing * 2),
+				-one_and_a_half_icons - (spacing * 2),
+				-half_icon - (spacing * 2),
+				-half_icon - spacing,
+				-half_icon - spacing,
+				half_icon + spacing,
+				half_icon + spacing,
+				half_icon + (spacing * 2),
+				one_and_a_half_icons + (spacing * 2),
+				one_and_a_half_icons + (spacing * 2),
+				half_icon + (spacing * 2),
+				half_icon + spacing,
+				half_icon + spacing,
+				-half_icon - spacing,
+				-half_icon - spacing,
+				-half_icon - (spacing * 2),
+				-one_and_a_half_icons - (spacing * 2),
+		};
+
+		System.arraycopy(x, 0, polygonXOffsets, 0, x.length);
+		System.arraycopy(y, 0, polygonYOffsets, 0, y.length);
 	}
 
 	private void setLocation(Component component, int x, int y) {
@@ -233,91 +374,46 @@ public class DockingHandles {
 		int centerX = dockableCenter.getX() + (dockableCenter.getWidth() / 2);
 		int centerY = dockableCenter.getY() + (dockableCenter.getWidth() / 2);
 
-		int spacing = handleSpacing(dockableCenter) - dockableCenter.getWidth();
-		int half_icon = dockableCenter.getWidth() / 2;
-		int one_and_a_half_icons = (int) (dockableCenter.getWidth() * 1.5);
-
-		// create a polygon of the docking handles background
-		Polygon poly = new Polygon(
-				new int[] {
-						centerX - half_icon - spacing,
-						centerX + half_icon + spacing,
-						centerX + half_icon + spacing,
-						centerX + half_icon + (spacing * 2),
-						centerX + one_and_a_half_icons + (spacing * 2),
-						centerX + one_and_a_half_icons + (spacing * 2),
-						centerX + half_icon + (spacing * 2),
-						centerX + half_icon + spacing,
-						centerX + half_icon + spacing,
-						centerX - half_icon - spacing,
-						centerX - half_icon - spacing,
-						centerX - half_icon - (spacing * 2),
-						centerX - one_and_a_half_icons - (spacing * 2),
-						centerX - one_and_a_half_icons - (spacing * 2),
-						centerX - half_icon - (spacing * 2),
-						centerX - half_icon - spacing,
-						centerX - half_icon - spacing
-				},
-				new int[] {
-						centerY - one_and_a_half_icons - (spacing * 2),
-						centerY - one_and_a_half_icons - (spacing * 2),
-						centerY - half_icon - (spacing * 2),
-						centerY - half_icon - spacing,
-						centerY - half_icon - spacing,
-						centerY + half_icon + spacing,
-						centerY + half_icon + spacing,
-						centerY + half_icon + (spacing * 2),
-						centerY + one_and_a_half_icons + (spacing * 2),
-						centerY + one_and_a_half_icons + (spacing * 2),
-						centerY + half_icon + (spacing * 2),
-						centerY + half_icon + spacing,
-						centerY + half_icon + spacing,
-						centerY - half_icon - spacing,
-						centerY - half_icon - spacing,
-						centerY - half_icon - (spacing * 2),
-						centerY - one_and_a_half_icons - (spacing * 2),
-				},
-				17
-		);
+		// position the dockable handles background polygon around the center handle
+		updatePolygonOffsets();
+
+		for (int i = 0; i < polygonX.length; i++) {
+			polygonX[i] = centerX + polygonXOffsets[i];
+			polygonY[i] = centerY + polygonYOffsets[i];
+		}
 
 		Color background = DockingProperties.getHandlesBackground();
 		Color border = DockingProperties.getHandlesBackgroundBorder();
 
-		Graphics2D g2 = (Graphics2D) g.create();
-		Stroke dashed = new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{3}, 0);
-		g2.setStroke(dashed);
-
 		// draw root handles
-		paintHandle(g, g2, rootCenter);
-		paintHandle(g, g2, rootEast);
-		paintHandle(g, g2, rootWest);
-		paintHandle(g, g2, rootNorth);
-		paintHandle(g, g2, rootSouth);
+		paintHandle(g, rootCenter);
+		paintHandle(g, rootEast);
+		paintHandle(g, rootWest);
+		paintHandle(g, rootNorth);
+		paintHandle(g, rootSouth);
 
 		// draw the dockable handles background over the root handles in case they overlap
 		if (targetDockable != null) {
 			// fill the dockable handles background
 			g.setColor(background);
-			g.fillPolygon(poly.xpoints, poly.ypoints, poly.npoints);
+			g.fillPolygon(polygonX, polygonY, polygonX.length);
 
 			// draw the dockable handles border
 			g.setColor(border);
-			g.drawPolygon(poly.xpoints, poly.ypoints, poly.npoints);
+			g.drawPolygon(polygonX, polygonY, polygonX.length);
 		}
 
 		// draw the docking handles over the docking handles background
-		paintHandle(g, g2, dockableCenter);
-		paintHandle(g, g2, dockableEast);
-		paintHandle(g, g2, dockableWest);
-		paintHandle(g, g2, dockableNorth);
-		paintHandle(g, g2, dockableSouth);
-
-		g2.dispose();
+		paintHandle(g, dockableCenter);
+		paintHandle(g, dockableEast);
+		paintHandle(g, dockableWest);
+		paintHandle(g, dockableNorth);
+		paintHandle(g, dockableSouth);
 	}
 
-	private void paintHandle(Graphics g, Graphics2D g2, DockingHandle handle) {
+	private void paintHandle(Graphics g, DockingHandle handle) {
 		if (handle.isVisible()) {
-			handle.paintHandle(g, g2, mouseOver.get(handle));
+			handle.paintHandle(g, mouseOver.get(handle));
 		}
 	}
 }
@@ -33,8 +33,8 @@ public class DockingOverlay {
 	// determines how close to the edge the user has to drag the panel before they see an overlay other than CENTER
 	private static final double REGION_SENSITIVITY = 0.35;
 
-	// the target root for this overlay, always the same
-	private final RootDockingPanel targetRoot;
+	// the target root for this overlay, changes when the utility frame is reused for another window
+	private RootDockingPanel targetRoot;
 
 	// the dockable that is currently floating in its own undecoarted frame
 	private Dockable floating;
@@ -56,8 +56,8 @@ public class DockingOverlay {
 	// the total size of the overlay, used for drawing
 	private Dimension size;
 
-	// the utility frame that this overlay belongs to
-	private final JFrame utilFrame;
+	// the utility frame or layer that this overlay belongs to
+	private final Container utilFrame;
 
 	// whether to draw this overlay, different from swing visibility because we're manually painting
 	private boolean visible = false;
@@ -65,7 +65,11 @@ public class DockingOverlay {
 	// override for the visible flag, sometimes internally we don't want to draw but we might be active
 	private boolean visibleOverride = false;
 
-	public DockingOverlay(JFrame utilFrame, RootDockingPanel root) {
+	// the area of the util frame that the overlay was last painted in. we only repaint this area and the new area
+	private final Rectangle paintedBounds = new Rectangle();
+	private final Rectangle overlayBounds = new Rectangle();
+
+	public DockingOverlay(Container utilFrame, RootDockingPanel root) {
 		this.utilFrame = utilFrame;
 
 		targetRoot = root;
@@ -74,12 +78,24 @@ public class DockingOverlay {
 
 	public void setActive(boolean active) {
 		visible = active;
+
+		// the frame is painted in full when it's shown
+		paintedBounds.setBounds(0, 0, 0, 0);
 	}
 
 	public void setFloating(Dockable dockable) {
 		floating = dockable;
 	}
 
+	// point the overlay at a different root, used when the utility frame is reused for another window
+	public void setTargetRoot(RootDockingPanel root) {
+		targetRoot = root;
+		targetDockable = null;
+		size = utilFrame.getSize();
+
+		paintedBounds.setBounds(0, 0, 0, 0);
+	}
+
 	public void setTargetDockable(Dockable dockable) {
 		targetDockable = dockable;
 	}
@@ -223,8 +239,19 @@ public class DockingOverlay {
 			this.size = size;
 		}
 
-		utilFrame.revalidate();
-		utilFrame.repaint();
+		if (visible && !visibleOverride) {
+			overlayBounds.setBounds(location.x, location.y, size.width, size.height);
+		}
+		else {
+			overlayBounds.setBounds(0, 0, 0, 0);
+		}
+
+		// only repaint the area the overlay used to cover and the area it covers now
+		if (!overlayBounds.equals(paintedBounds)) {
+			DockingHandles.repaintUnion(utilFrame, paintedBounds, overlayBounds);
+
+			paintedBounds.setBounds(overlayBounds);
+		}
 	}
 
 	// get the region that we're currently displaying an overlay for
@@ -0,0 +1,55 @@
+/*
+Copyright (c) 2023 Andrew Auclair
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package ModernDocking.floating;
+
+import ModernDocking.Dockable;
+import ModernDocking.DockingRegion;
+
+import java.awt.*;
+
+// draws the docking handles and overlay highlighting over a root while dragging. implemented by a translucent
+// utility frame or by a layer in the windows own layered pane
+public interface DockingUtils {
+	// set the current dockable that the mouse is over, can be null
+	void setTargetDockable(Dockable target);
+
+	// set the floating panel, doesn't change once the panel is first floated
+	void setFloating(Dockable floating);
+
+	// update the overlay with the current mouse position
+	void update(Point screenPos);
+
+	// activate the overlays, sets them to visible
+	void setActive(boolean active);
+
+	// bring the overlays in front of the floating dockable
+	void toFront();
+
+	// get the current region from the overlay. this is either a root region or dockable region
+	DockingRegion getRegion(Point screenPos);
+
+	// checks if docking to the root. This is only possible when the mouse is over a root docking handle
+	boolean isDockingToRoot();
+
+	// checks if docking to a dockable. Returns false if isDockingToRoot() is true.
+	boolean isDockingToDockable();
+}
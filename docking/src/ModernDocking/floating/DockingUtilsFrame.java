@@ -31,10 +31,11 @@ import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
 
 // utility frame that is used to draw handles and overlay highlighting
-public class DockingUtilsFrame extends JFrame implements ComponentListener {
+public class DockingUtilsFrame extends JFrame implements DockingUtils, ComponentListener {
 	private final DockingHandles handles;
 	private final DockingOverlay overlay;
-	private final Window referenceDockingWindow;
+	private Window referenceDockingWindow;
+	private RootDockingPanel root;
 
 	// create a new DockingUtilsFrame with a frame and its root panel
 	public DockingUtilsFrame(Window referenceDockingWindow, RootDockingPanel root) {
@@ -44,32 +45,91 @@ public class DockingUtilsFrame extends JFrame implements ComponentListener {
 		setBackground(new Color(0, 0, 0, 0)); // don't want a background for this frame
 		setCursor(Cursor.getPredefinedCursor(Cursor.MOVE_CURSOR)); // always moving a dockable when this frame is visible. use the moving cursor to indicate such
 
-		// set location and size based on the reference docking frame
-		setLocation(referenceDockingWindow.getLocation());
-		setSize(referenceDockingWindow.getSize());
-
 		// remember the reference docking frame and create the handles and over components
 		this.referenceDockingWindow = referenceDockingWindow;
+		this.root = root;
 		handles = new DockingHandles(this, root);
 		overlay = new DockingOverlay(this, root);
+
+		// set location and size based on the root of the reference docking frame
+		coverRoot();
+	}
+
+	public Window getReferenceWindow() {
+		return referenceDockingWindow;
+	}
+
+	// reuse this frame for another window. null releases the current window without picking up a new one
+	public void setReferenceWindow(Window window, RootDockingPanel root) {
+		if (isDisplayable()) {
+			removeReferenceListeners();
+		}
+
+		referenceDockingWindow = window;
+		this.root = root;
+
+		if (window != null) {
+			coverRoot();
+
+			if (isDisplayable()) {
+				addReferenceListeners();
+			}
+		}
+
+		handles.setTargetRoot(root);
+		overlay.setTargetRoot(root);
 	}
 
 	@Override
 	public void addNotify() {
 		super.addNotify();
 
-		// listen for the reference frame to move and resize. this frame must match it exactly
-		referenceDockingWindow.addComponentListener(this);
+		// listen for the reference frame and its root to move and resize. this frame must match the root exactly
+		addReferenceListeners();
 	}
 
 	@Override
 	public void removeNotify() {
-		referenceDockingWindow.removeComponentListener(this);
+		removeReferenceListeners();
 
 		super.removeNotify();
 	}
 
+	private void addReferenceListeners() {
+		if (referenceDockingWindow != null) {
+			referenceDockingWindow.addComponentListener(this);
+		}
+
+		if (root != null) {
+			root.addComponentListener(this);
+		}
+	}
+
+	private void removeReferenceListeners() {
+		if (referenceDockingWindow != null) {
+			referenceDockingWindow.removeComponentListener(this);
+		}
+
+		if (root != null) {
+			root.removeComponentListener(this);
+		}
+	}
+
+	// cover the root of the reference window. the window moving moves the root on screen, the root can be resized or moved
+	// inside the window without the window changing
+	private void coverRoot() {
+		if (root == null || !root.isShowing()) {
+			return;
+		}
+
+		Point point = root.getLocation();
+		SwingUtilities.convertPointToScreen(point, root.getParent());
+
+		setBounds(point.x, point.y, root.getWidth(), root.getHeight());
+	}
+
 	// set the current dockable that the mouse is over, can be null
+	@Override
 	public void setTargetDockable(Dockable target) {
 		handles.setTarget(target);
 		overlay.setTargetDockable(target);
@@ -79,47 +139,55 @@ public class DockingUtilsFrame extends JFrame implements ComponentListener {
 	}
 
 	// set the floating panel, doesn't change once the panel is first floated
+	@Override
 	public void setFloating(Dockable floating) {
 		handles.setFloating(floating);
 		overlay.setFloating(floating);
 	}
 
 	// update the overlay with the current mouse position
+	@Override
 	public void update(Point screenPos) {
+		coverRoot();
+
 		handles.update(screenPos);
 		overlay.update(screenPos);
 	}
 
 	// activate the overlays, sets them to visible
+	@Override
 	public void setActive(boolean active) {
 		handles.setActive(active);
 		overlay.setActive(active);
 	}
 
 	// get the current region from the overlay. this is either a root region or dockable region
+	@Override
 	public DockingRegion getRegion(Point screenPos) {
 		return overlay.getRegion(screenPos);
 	}
 
 	// checks if docking to the root. This is only possible when the mouse is over a root docking handle
+	@Override
 	public boolean isDockingToRoot() {
 		return overlay.isDockingToRoot();
 	}
 
 	// checks if docking to a dockable. Returns false if isDockingToRoot() is true.
 	// Returns false if not over a frame
+	@Override
 	public boolean isDockingToDockable() {
 		return overlay.isDockingToDockable();
 	}
 
 	@Override
 	public void componentResized(ComponentEvent e) {
-		setSize(referenceDockingWindow.getSize());
+		coverRoot();
 	}
 
 	@Override
 	public void componentMoved(ComponentEvent e) {
-		setLocation(referenceDockingWindow.getLocation());
+		coverRoot();
 	}
 
 	@Override
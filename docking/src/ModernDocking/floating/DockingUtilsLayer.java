@@ -0,0 +1,173 @@
+/*
+Copyright (c) 2023 Andrew Auclair
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package ModernDocking.floating;
+
+import ModernDocking.Dockable;
+import ModernDocking.DockingRegion;
+import ModernDocking.RootDockingPanel;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// draws the handles and overlay highlighting in the drag layer of the windows layered pane instead of a separate translucent frame
+public class DockingUtilsLayer extends JComponent implements DockingUtils {
+	private final DockingHandles handles;
+	private final DockingOverlay overlay;
+	private final RootDockingPanel root;
+
+	// image of the floating dockable, painted below the handles while the floating frame is hidden over this layer
+	private BufferedImage preview = null;
+	private Rectangle previewBounds = new Rectangle();
+
+	public DockingUtilsLayer(RootDockingPanel root) {
+		setLayout(null); // don't use a layout manager for this custom painted layer
+		setOpaque(false);
+		setVisible(false);
+		setCursor(Cursor.getPredefinedCursor(Cursor.MOVE_CURSOR)); // always moving a dockable when this layer is visible. use the moving cursor to indicate such
+
+		this.root = root;
+		handles = new DockingHandles(this, root);
+		overlay = new DockingOverlay(this, root);
+	}
+
+	// set the current dockable that the mouse is over, can be null
+	@Override
+	public void setTargetDockable(Dockable target) {
+		handles.setTarget(target);
+		overlay.setTargetDockable(target);
+
+		overlay.setTargetRootRegion(handles.getRootRegion());
+		overlay.setTargetDockableRegion(handles.getDockableRegion());
+	}
+
+	// set the floating panel, doesn't change once the panel is first floated
+	@Override
+	public void setFloating(Dockable floating) {
+		handles.setFloating(floating);
+		overlay.setFloating(floating);
+	}
+
+	// update the overlay with the current mouse position
+	@Override
+	public void update(Point screenPos) {
+		JLayeredPane layeredPane = getLayeredPane();
+
+		// cover the root
+		if (layeredPane != null) {
+			setBounds(SwingUtilities.convertRectangle(root.getParent(), root.getBounds(), layeredPane));
+		}
+
+		handles.update(screenPos);
+		overlay.update(screenPos);
+	}
+
+	// set the image of the floating dockable and its bounds on screen, null to stop painting it
+	public void setPreview(BufferedImage image, Rectangle screenBounds) {
+		Rectangle oldBounds = previewBounds;
+
+		preview = image;
+		previewBounds = new Rectangle();
+
+		if (image != null && isShowing()) {
+			Point location = screenBounds.getLocation();
+			SwingUtilities.convertPointFromScreen(location, this);
+
+			previewBounds = new Rectangle(location, screenBounds.getSize());
+		}
+
+		// only repaint the area the preview used to cover and the area it covers now
+		if (!oldBounds.equals(previewBounds)) {
+			DockingHandles.repaintUnion(this, oldBounds, previewBounds);
+		}
+	}
+
+	// activate the overlays. the layer is only in the layered pane while it's active
+	@Override
+	public void setActive(boolean active) {
+		JLayeredPane layeredPane = getLayeredPane();
+
+		if (active && getParent() == null && layeredPane != null) {
+			layeredPane.add(this, JLayeredPane.DRAG_LAYER);
+		}
+
+		handles.setActive(active);
+		overlay.setActive(active);
+
+		if (!active) {
+			preview = null;
+			previewBounds = new Rectangle();
+		}
+
+		if (!active && getParent() != null) {
+			Container parent = getParent();
+			Rectangle bounds = getBounds();
+
+			parent.remove(this);
+			parent.repaint(bounds.x, bounds.y, bounds.width, bounds.height);
+		}
+	}
+
+	// the layer is always above the rest of the window and paints the floating dockable itself, nothing to do
+	@Override
+	public void toFront() {
+	}
+
+	// get the current region from the overlay. this is either a root region or dockable region
+	@Override
+	public DockingRegion getRegion(Point screenPos) {
+		return overlay.getRegion(screenPos);
+	}
+
+	// checks if docking to the root. This is only possible when the mouse is over a root docking handle
+	@Override
+	public boolean isDockingToRoot() {
+		return overlay.isDockingToRoot();
+	}
+
+	// checks if docking to a dockable. Returns false if isDockingToRoot() is true.
+	@Override
+	public boolean isDockingToDockable() {
+		return overlay.isDockingToDockable();
+	}
+
+	private JLayeredPane getLayeredPane() {
+		JRootPane rootPane = SwingUtilities.getRootPane(root);
+
+		return rootPane != null ? rootPane.getLayeredPane() : null;
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		// paint the floating dockable below the handles and overlays
+		if (preview != null && !previewBounds.isEmpty()) {
+			Graphics2D g2 = (Graphics2D) g.create();
+			g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, TempFloatingFrame.PREVIEW_OPACITY));
+			g2.drawImage(preview, previewBounds.x, previewBounds.y, previewBounds.width, previewBounds.height, null);
+			g2.dispose();
+		}
+
+		// paint the handles and overlays. nothing is painted if they aren't visible
+		handles.paint(g);
+		overlay.paint(g);
+	}
+}
@@ -0,0 +1,249 @@
+/*
+Copyright (c) 2023 Andrew Auclair
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package ModernDocking.floating;
+
+import ModernDocking.Dockable;
+import ModernDocking.internal.DisplayPanel;
+import ModernDocking.internal.DockingLayoutModel;
+import ModernDocking.internal.WindowZOrder;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+// spatial index of the docking windows and the dockables inside them. built when a drag starts so that
+// hit testing while dragging doesn't have to allocate or walk the component tree.
+// the index is rebuilt if the docking layout or the geometry of any docking window changes
+public class DropTargetIndex {
+	// size of the cells in the grid that each window is divided into
+	private static final int CELL_SIZE = 64;
+
+	// layout model version that the index was built from, -1 if the index has not been built
+	private long version = -1;
+
+	// window Z order version that the index was built from
+	private long zOrderVersion = -1;
+
+	private Window[] windows = new Window[0];
+
+	// x, y, width, height of each window on screen
+	private int[] windowBounds = new int[0];
+
+	private WindowGrid[] grids = new WindowGrid[0];
+
+	// the dockables of a single window, bucketed into a uniform grid
+	private static class WindowGrid {
+		private final int x;
+		private final int y;
+		private final int columns;
+		private final int rows;
+
+		// dockables in order of priority, the dockables in the layered pane (unpinned dockables) come first
+		private final Dockable[] dockables;
+
+		// x, y, width, height of each dockable on screen
+		private final int[] bounds;
+
+		// indices into cellEntries for each cell. the entries for cell i are cellStart[i] to cellStart[i + 1]
+		private final int[] cellStart;
+
+		// the dockable indices in each cell
+		private final int[] cellEntries;
+
+		private WindowGrid(Rectangle windowBounds, List<DisplayPanel> panels) {
+			x = windowBounds.x;
+			y = windowBounds.y;
+			columns = Math.max(1, (windowBounds.width + CELL_SIZE - 1) / CELL_SIZE);
+			rows = Math.max(1, (windowBounds.height + CELL_SIZE - 1) / CELL_SIZE);
+
+			dockables = new Dockable[panels.size()];
+			bounds = new int[panels.size() * 4];
+
+			for (int i = 0; i < panels.size(); i++) {
+				DisplayPanel panel = panels.get(i);
+				Point location = panel.getLocationOnScreen();
+
+				dockables[i] = panel.getWrapper().getDockable();
+				bounds[i * 4] = location.x;
+				bounds[i * 4 + 1] = location.y;
+				bounds[i * 4 + 2] = panel.getWidth();
+				bounds[i * 4 + 3] = panel.getHeight();
+			}
+
+			// count the entries for each cell, then fill them in. filling them in order keeps the priority order within each cell
+			cellStart = new int[columns * rows + 1];
+
+			for (int i = 0; i < dockables.length; i++) {
+				forEachCell(i, cell -> cellStart[cell + 1]++);
+			}
+
+			for (int i = 0; i < columns * rows; i++) {
+				cellStart[i + 1] += cellStart[i];
+			}
+
+			cellEntries = new int[cellStart[columns * rows]];
+			int[] next = cellStart.clone();
+
+			for (int i = 0; i < dockables.length; i++) {
+				final int index = i;
+				forEachCell(i, cell -> cellEntries[next[cell]++] = index);
+			}
+		}
+
+		private interface CellConsumer {
+			void accept(int cell);
+		}
+
+		private void forEachCell(int index, CellConsumer consumer) {
+			int firstColumn = clamp((bounds[index * 4] - x) / CELL_SIZE, columns);
+			int firstRow = clamp((bounds[index * 4 + 1] - y) / CELL_SIZE, rows);
+			int lastColumn = clamp((bounds[index * 4] + bounds[index * 4 + 2] - 1 - x) / CELL_SIZE, columns);
+			int lastRow = clamp((bounds[index * 4 + 1] + bounds[index * 4 + 3] - 1 - y) / CELL_SIZE, rows);
+
+			for (int row = firstRow; row <= lastRow; row++) {
+				for (int column = firstColumn; column <= lastColumn; column++) {
+					consumer.accept(row * columns + column);
+				}
+			}
+		}
+
+		private Dockable find(int screenX, int screenY) {
+			int column = (screenX - x) / CELL_SIZE;
+			int row = (screenY - y) / CELL_SIZE;
+
+			if (screenX < x || screenY < y || column >= columns || row >= rows) {
+				return null;
+			}
+
+			int cell = row * columns + column;
+
+			for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+				int index = cellEntries[i];
+
+				if (contains(bounds, index, screenX, screenY)) {
+					return dockables[index];
+				}
+			}
+			return null;
+		}
+	}
+
+	// check if the index needs to be rebuilt before it's used
+	public boolean isStale() {
+		return version != DockingLayoutModel.getVersion() || zOrderVersion != WindowZOrder.getVersion();
+	}
+
+	// build the index from the current docking windows. must be called on the EDT
+	public void rebuild() {
+		version = DockingLayoutModel.getVersion();
+		zOrderVersion = WindowZOrder.getVersion();
+
+		List<Window> visibleWindows = new ArrayList<>();
+
+		// in Z order so that the top window at a position is found first
+		for (Window window : WindowZOrder.getWindows()) {
+			if (window.isVisible()) {
+				visibleWindows.add(window);
+			}
+		}
+
+		windows = visibleWindows.toArray(new Window[0]);
+		windowBounds = new int[windows.length * 4];
+		grids = new WindowGrid[windows.length];
+
+		for (int i = 0; i < windows.length; i++) {
+			Window window = windows[i];
+
+			// we need the real bounds of the panels, make sure any pending layout is done first
+			window.validate();
+
+			Rectangle bounds = window.getBounds();
+
+			windowBounds[i * 4] = bounds.x;
+			windowBounds[i * 4 + 1] = bounds.y;
+			windowBounds[i * 4 + 2] = bounds.width;
+			windowBounds[i * 4 + 3] = bounds.height;
+
+			List<DisplayPanel> panels = new ArrayList<>();
+			findDisplayPanels(window, panels);
+
+			grids[i] = new WindowGrid(bounds, panels);
+		}
+	}
+
+	// release the index, it's rebuilt on the next drag
+	public void clear() {
+		version = -1;
+		zOrderVersion = -1;
+		windows = new Window[0];
+		windowBounds = new int[0];
+		grids = new WindowGrid[0];
+	}
+
+	// find the top docking window that contains the screen position
+	public Window findWindow(Point screenPos) {
+		for (int i = 0; i < windows.length; i++) {
+			if (contains(windowBounds, i, screenPos.x, screenPos.y)) {
+				return windows[i];
+			}
+		}
+		return null;
+	}
+
+	// find the dockable at the screen position, limited to a single window
+	public Dockable findDockable(Point screenPos, Window window) {
+		for (int i = 0; i < windows.length; i++) {
+			if (windows[i] == window) {
+				return grids[i].find(screenPos.x, screenPos.y);
+			}
+		}
+		return null;
+	}
+
+	// collect the showing display panels in the order that they're painted, top first.
+	// components earlier in a container are painted on top of the components after them
+	private static void findDisplayPanels(Container container, List<DisplayPanel> panels) {
+		for (Component component : container.getComponents()) {
+			if (!component.isShowing()) {
+				continue;
+			}
+
+			if (component instanceof DisplayPanel) {
+				panels.add((DisplayPanel) component);
+			}
+			else if (component instanceof Container) {
+				findDisplayPanels((Container) component, panels);
+			}
+		}
+	}
+
+	private static boolean contains(int[] bounds, int index, int x, int y) {
+		int left = bounds[index * 4];
+		int top = bounds[index * 4 + 1];
+
+		return x >= left && y >= top && x < left + bounds[index * 4 + 2] && y < top + bounds[index * 4 + 3];
+	}
+
+	private static int clamp(int value, int count) {
+		return Math.max(0, Math.min(count - 1, value));
+	}
+}
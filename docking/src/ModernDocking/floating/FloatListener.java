@@ -35,7 +35,11 @@ import java.awt.Dialog.ModalityType;
 import java.awt.datatransfer.StringSelection;
 import java.awt.datatransfer.Transferable;
 import java.awt.dnd.*;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class FloatListener extends DragSourceAdapter implements DragSourceListener, DragSourceMotionListener {
@@ -47,12 +51,28 @@ public class FloatListener extends DragSourceAdapter implements DragSourceListen
 	// dummy transferable, we don't actually transfer anything
 	private final Transferable transferable = new StringSelection("");
 
+	private DragGestureRecognizer gestureRecognizer = null;
+
 	private Point dragOffset = new Point(0, 0);
 	private TempFloatingFrame floatingFrame;
 
-	private static final Map<Window, DockingUtilsFrame> utilFrames = new HashMap<>();
+	// most utility frames that are kept around, they're reused between windows when there are more windows than frames
+	private static final int UTIL_FRAME_POOL_SIZE = 3;
+
+	// utility frames currently assigned to a window, created when a drag first enters the window.
+	// in access order so that the least recently used frame is the first to be reused
+	private static final Map<Window, DockingUtilsFrame> utilFrames = new LinkedHashMap<>(16, 0.75f, true);
+
+	// utility frames that aren't assigned to any window
+	private static final Deque<DockingUtilsFrame> freeUtilFrames = new ArrayDeque<>();
+
+	// utility layers for the windows that draw their overlays in their layered pane
+	private static final Map<Window, DockingUtilsLayer> utilLayers = new HashMap<>();
 
-	private DockingUtilsFrame activeUtilsFrame = null;
+	// index of the windows and dockables we can drop on. shared because there's only ever one drag at a time
+	private static final DropTargetIndex dropTargets = new DropTargetIndex();
+
+	private DockingUtils activeUtilsFrame = null;
 
 	private static Window windowToDispose = null;
 
@@ -64,13 +84,30 @@ public class FloatListener extends DragSourceAdapter implements DragSourceListen
 
 	private ModalityType modalityType = ModalityType.MODELESS;
 
+	// drag updates per second, 0 means use the refresh rate of the display
+	private static int dragUpdateRate = 0;
+
+	// fallback when the refresh rate of the display is unknown
+	private static final int DEFAULT_DRAG_UPDATE_RATE = 60;
+
+	// mouse movements are coalesced and processed at most once per frame, only the latest position is used
+	private Timer dragUpdateTimer = null;
+	private final Point pendingMousePos = new Point();
+	private boolean hasPendingMousePos = false;
+
+	// drag an image of the dockable instead of the dockable itself. the dockable is only moved when it's dropped
+	private static boolean snapshotDragPreview = false;
+
+	// true while dragging a snapshot, the dockable is still docked in its original position
+	private boolean draggingSnapshot = false;
+
 	public FloatListener(DockableWrapper dockable, JComponent dragSource) {
 		this.floatingDockable = dockable;
 
 		if (dragSource != null) {
 			this.dragSource.addDragSourceMotionListener(FloatListener.this);
 
-			this.dragSource.createDefaultDragGestureRecognizer(dragSource, DnDConstants.ACTION_MOVE, dge -> {
+			gestureRecognizer = this.dragSource.createDefaultDragGestureRecognizer(dragSource, DnDConstants.ACTION_MOVE, dge -> {
 				// unpinned dockables are not floatable. They must be pinned again
 				if (!Docking.isUnpinned(floatingDockable.getDockable())) {
 					this.dragSource.startDrag(dge, Cursor.getPredefinedCursor(Cursor.MOVE_CURSOR), transferable, FloatListener.this);
@@ -90,20 +127,153 @@ public class FloatListener extends DragSourceAdapter implements DragSourceListen
 		}
 	}
 
+	// true while the dockable is being dragged
+	public boolean isDragging() {
+		return floatingFrame != null;
+	}
+
 	public static void reset() {
 		// used when creating a new Docking instance, mostly to hack the tests
+		utilFrames.values().forEach(Window::dispose);
 		utilFrames.clear();
+
+		freeUtilFrames.forEach(Window::dispose);
+		freeUtilFrames.clear();
+
+		utilLayers.clear();
 		windowToDispose = null;
 	}
 
 	public void removeListeners() {
 		dragSource.removeDragSourceMotionListener(this);
 
+		if (gestureRecognizer != null) {
+			gestureRecognizer.setComponent(null);
+		}
+
 		floatingDockable.removedListeners();
 	}
 
-	public static void registerDockingWindow(Window window, RootDockingPanel root) {
-		utilFrames.put(window, new DockingUtilsFrame(window, root));
+	// set the number of times per second the floating frame and overlays are updated while dragging. 0 uses the display refresh rate
+	public static void setDragUpdateRate(int framesPerSecond) {
+		dragUpdateRate = Math.max(0, framesPerSecond);
+	}
+
+	public static int getDragUpdateRate() {
+		return dragUpdateRate;
+	}
+
+	public static void setSnapshotDragPreview(boolean snapshot) {
+		snapshotDragPreview = snapshot;
+	}
+
+	public static boolean isSnapshotDragPreview() {
+		return snapshotDragPreview;
+	}
+
+	private static int dragUpdateDelay() {
+		int rate = dragUpdateRate;
+
+		if (rate == 0) {
+			try {
+				rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+			}
+			catch (HeadlessException ignore) {
+			}
+		}
+
+		if (rate <= 0) {
+			rate = DEFAULT_DRAG_UPDATE_RATE;
+		}
+		return Math.max(1, 1000 / rate);
+	}
+
+	private void startDragUpdates() {
+		hasPendingMousePos = false;
+
+		dragUpdateTimer = new Timer(dragUpdateDelay(), e -> processPendingMousePos());
+		dragUpdateTimer.setCoalesce(true);
+		dragUpdateTimer.start();
+	}
+
+	private void stopDragUpdates() {
+		if (dragUpdateTimer != null) {
+			dragUpdateTimer.stop();
+			dragUpdateTimer = null;
+		}
+
+		// make sure the last position is processed before dropping
+		processPendingMousePos();
+	}
+
+	private void processPendingMousePos() {
+		if (hasPendingMousePos && floatingFrame != null) {
+			hasPendingMousePos = false;
+
+			updateFramePosition(pendingMousePos);
+		}
+	}
+
+	// release the utility frame of a window that is no longer a docking window so that it can be used for another window
+	public static void deregisterDockingWindow(Window window) {
+		DockingUtilsLayer layer = utilLayers.remove(window);
+
+		if (layer != null) {
+			layer.setActive(false);
+		}
+
+		DockingUtilsFrame frame = utilFrames.remove(window);
+
+		if (frame != null) {
+			frame.setActive(false);
+			frame.setReferenceWindow(null, null);
+
+			freeUtilFrames.push(frame);
+		}
+	}
+
+	// get the utility frame or layer for the window, creating or reusing one if the window doesn't have one yet
+	private static DockingUtils utilsFrameForWindow(Window window) {
+		if (window == null) {
+			return null;
+		}
+
+		RootDockingPanel root = DockingComponentUtils.rootForWindow(window);
+
+		if (root == null) {
+			return null;
+		}
+
+		if (root.getOverlayMode() == DockingOverlayMode.LAYERED_PANE) {
+			return utilLayers.computeIfAbsent(window, w -> new DockingUtilsLayer(root));
+		}
+
+		DockingUtilsFrame frame = utilFrames.get(window);
+
+		if (frame != null) {
+			return frame;
+		}
+
+		if (!freeUtilFrames.isEmpty()) {
+			frame = freeUtilFrames.pop();
+			frame.setReferenceWindow(window, root);
+		}
+		else if (utilFrames.size() < UTIL_FRAME_POOL_SIZE) {
+			frame = new DockingUtilsFrame(window, root);
+		}
+		else {
+			// take the frame from the least recently used window, only one frame is ever active at a time
+			Iterator<Map.Entry<Window, DockingUtilsFrame>> iterator = utilFrames.entrySet().iterator();
+			frame = iterator.next().getValue();
+			iterator.remove();
+
+			frame.setActive(false);
+			frame.setReferenceWindow(window, root);
+		}
+
+		utilFrames.put(window, frame);
+
+		return frame;
 	}
 
 	private void updateFramePosition(Point mousePos) {
@@ -111,17 +281,17 @@ public class FloatListener extends DragSourceAdapter implements DragSourceListen
 		Point framePos = new Point(mousePos.x - dragOffset.x, mousePos.y - dragOffset.y);
 		floatingFrame.setLocation(framePos);
 
-		// find the frame at our current position
-		Window frame = DockingComponentUtils.findRootAtScreenPos(mousePos);
-
-		// findRootAtScreenPos has a tendency to find the last added frame at the position. meaning it ignores Z order. override it here because we know better.
-		if (currentTopWindow != null && currentTopWindow.getBounds().contains(mousePos)) {
-			frame = currentTopWindow;
+		// the layout or a window has changed since the index was built
+		if (dropTargets.isStale()) {
+			dropTargets.rebuild();
 		}
 
+		// find the top frame at our current position
+		Window frame = dropTargets.findWindow(mousePos);
+
 		boolean isModal = modalityType == ModalityType.TOOLKIT_MODAL || modalityType == ModalityType.APPLICATION_MODAL;
 
-		// change overlays and bring frames to front if we move over a new frame
+		// change overlays if we move over a new frame
 		if (frame != currentTargetWindow && !isModal) {
 			currentTargetWindow = frame;
 			currentTopWindow = frame;
@@ -129,13 +299,38 @@ public class FloatListener extends DragSourceAdapter implements DragSourceListen
 			changeFrameOverlays(frame);
 		}
 
-		Dockable dockable = DockingComponentUtils.findDockableAtScreenPos(mousePos, currentTopWindow);
+		Dockable dockable = dropTargets.findDockable(mousePos, currentTopWindow);
+
+		// when dragging a snapshot the dockable is still docked, it can't be docked to itself
+		if (dockable == floatingDockable.getDockable()) {
+			dockable = null;
+		}
 
 		if (activeUtilsFrame != null) {
 			activeUtilsFrame.setFloating(floatingDockable.getDockable());
 			activeUtilsFrame.setTargetDockable(dockable);
 			activeUtilsFrame.update(mousePos);
 		}
+
+		updatePreview();
+	}
+
+	// overlays drawn inside the target window are below the floating frame, and a see through frame needs a compositor that
+	// some desktops don't have. hide the frame while over a layer and let the layer paint the dockable below its handles
+	private void updatePreview() {
+		if (floatingFrame == null) {
+			return;
+		}
+
+		boolean inLayer = activeUtilsFrame instanceof DockingUtilsLayer;
+
+		if (inLayer) {
+			((DockingUtilsLayer) activeUtilsFrame).setPreview(floatingFrame.getPreviewImage(), floatingFrame.getBounds());
+		}
+
+		if (floatingFrame.isVisible() == inLayer) {
+			floatingFrame.setVisible(!inLayer);
+		}
 	}
 
 	private void changeFrameOverlays(Window newWindow) {
@@ -145,7 +340,7 @@ public class FloatListener extends DragSourceAdapter implements DragSourceListen
 		}
 
 		if (newWindow != null) {
-			activeUtilsFrame = utilFrames.get(newWindow);
+			activeUtilsFrame = utilsFrameForWindow(newWindow);
 
 			if (activeUtilsFrame != null) {
 				Point mousePos = MouseInfo.getPointerInfo().getLocation();
@@ -153,11 +348,12 @@ public class FloatListener extends DragSourceAdapter implements DragSourceListen
 				activeUtilsFrame.update(mousePos);
 				activeUtilsFrame.setActive(true);
 
-				SwingUtilities.invokeLater(() -> currentTopWindow.toFront());
 				SwingUtilities.invokeLater(() -> floatingFrame.toFront());
 				SwingUtilities.invokeLater(() -> activeUtilsFrame.toFront());
 			}
 		}
+
+		updatePreview();
 	}
 
 	public void mouseDragged(Point point) {
@@ -174,15 +370,25 @@ public class FloatListener extends DragSourceAdapter implements DragSourceListen
 
 		RootDockingPanel currentRoot = DockingComponentUtils.rootForWindow(originalWindow);
 
-		floatingFrame = new TempFloatingFrame(floatingDockable.getDockable(), (JComponent) floatingDockable.getUI());
+		draggingSnapshot = snapshotDragPreview;
 
-		floatingDockable.getParent().undock(floatingDockable.getDockable());
+		if (draggingSnapshot) {
+			// leave the dockable where it is and drag a picture of it instead, nothing has to be laid out until the drop
+			Dimension size = floatingDockable.getDisplayPanel().getSize();
 
-		DockingComponentUtils.removeIllegalFloats(originalWindow);
+			floatingFrame = new TempFloatingFrame(TempFloatingFrame.createSnapshot(floatingDockable.getDockable()), size, (JComponent) floatingDockable.getUI());
+		}
+		else {
+			floatingFrame = new TempFloatingFrame(floatingDockable.getDockable(), (JComponent) floatingDockable.getUI());
+
+			floatingDockable.getParent().undock(floatingDockable.getDockable());
+
+			DockingComponentUtils.removeIllegalFloats(originalWindow);
 
-		if (originalWindow != null && currentRoot != null && currentRoot.getPanel() == null && Docking.canDisposeWindow(originalWindow)) {
-			windowToDispose = originalWindow;
-			windowToDispose.setVisible(false);
+			if (originalWindow != null && currentRoot != null && currentRoot.getPanel() == null && Docking.canDisposeWindow(originalWindow)) {
+				windowToDispose = originalWindow;
+				windowToDispose.setVisible(false);
+			}
 		}
 
 		// make sure we are still using the mouse press point, not the current mouse position which might not be over the frame anymore
@@ -192,9 +398,13 @@ public class FloatListener extends DragSourceAdapter implements DragSourceListen
 		if (originalWindow != windowToDispose) {
 			currentTopWindow = originalWindow;
 			currentTargetWindow = originalWindow;
-			activeUtilsFrame = utilFrames.get(originalWindow);
+			activeUtilsFrame = utilsFrameForWindow(originalWindow);
 		}
 
+		dropTargets.rebuild();
+
+		startDragUpdates();
+
 		SwingUtilities.invokeLater(() -> {
 			if (activeUtilsFrame != null) {
 				activeUtilsFrame.setFloating(floatingDockable.getDockable());
@@ -202,6 +412,8 @@ public class FloatListener extends DragSourceAdapter implements DragSourceListen
 				activeUtilsFrame.setActive(true);
 				activeUtilsFrame.toFront();
 			}
+
+			updatePreview();
 		});
 
 		AppState.setPaused(true);
@@ -222,25 +434,42 @@ public class FloatListener extends DragSourceAdapter implements DragSourceListen
 		DockingRegion region = activeUtilsFrame != null ? activeUtilsFrame.getRegion(mousePos) : DockingRegion.CENTER;
 
 		if (root != null && activeUtilsFrame != null && activeUtilsFrame.isDockingToRoot()) {
+			undockSnapshot();
 			Docking.dock(floatingDockable.getDockable(), currentTopWindow, region, 0.25);
 		}
 		else if (floatingDockable.getDockable().shouldLimitToRoot() && floatingDockable.getRoot() != root) {
-			DockingState.restoreState(originalWindow, rootState);
+			restoreDockable();
+		}
+		else if (draggingSnapshot && dockableAtPos == floatingDockable.getDockable()) {
+			// dropped the snapshot back onto the dockable, there's nothing to do
 		}
 		else if (currentTopWindow != null && dockingPanel != null && activeUtilsFrame != null && activeUtilsFrame.isDockingToDockable()) {
+			undockSnapshot();
 			Docking.dock(floatingDockable.getDockable(), dockableAtPos, region);
 		}
 		else if (root != null && region != DockingRegion.CENTER && activeUtilsFrame == null) {
+			undockSnapshot();
 			Docking.dock(floatingDockable.getDockable(), currentTopWindow, region);
 		}
 		else if (!floatingDockable.getDockable().isFloatingAllowed()) {
-			DockingState.restoreState(originalWindow, rootState);
+			restoreDockable();
 		}
 
 		else {
+			undockSnapshot();
 			new FloatingFrame(floatingDockable.getDockable(), floatingFrame);
 		}
 
+		// the window we dragged the snapshot out of might be empty now
+		if (draggingSnapshot && originalWindow != null) {
+			RootDockingPanel originalRoot = DockingComponentUtils.rootForWindow(originalWindow);
+
+			if (originalRoot != null && originalRoot.getPanel() == null && Docking.canDisposeWindow(originalWindow)) {
+				windowToDispose = originalWindow;
+			}
+		}
+		draggingSnapshot = false;
+
 		// auto persist the new layout to the file
 		AppState.persist();
 
@@ -261,6 +490,8 @@ public class FloatListener extends DragSourceAdapter implements DragSourceListen
 		floatingFrame.dispose();
 		floatingFrame = null;
 
+		dropTargets.clear();
+
 		// hide the overlay frame if one is active
 		if (activeUtilsFrame != null) {
 			activeUtilsFrame.setActive(false);
@@ -268,13 +499,36 @@ public class FloatListener extends DragSourceAdapter implements DragSourceListen
 		}
 	}
 
+	// the dockable is being moved, undock it from its original position if it's still there
+	private void undockSnapshot() {
+		if (!draggingSnapshot) {
+			return;
+		}
+
+		floatingDockable.getParent().undock(floatingDockable.getDockable());
+
+		DockingComponentUtils.removeIllegalFloats(originalWindow);
+	}
+
+	// put the dockable back where it started
+	private void restoreDockable() {
+		// a snapshot never left its original position
+		if (!draggingSnapshot) {
+			DockingState.restoreState(originalWindow, rootState);
+		}
+	}
+
 	@Override
 	public void dragDropEnd(DragSourceDropEvent dsde) {
+		stopDragUpdates();
+
 		dropFloatingPanel();
 	}
 
 	@Override
 	public void dragMouseMoved(DragSourceDragEvent dsde) {
-		updateFramePosition(dsde.getLocation());
+		// hold on to the position, the drag update timer will process it
+		pendingMousePos.setLocation(dsde.getX(), dsde.getY());
+		hasPendingMousePos = true;
 	}
 }
@@ -27,6 +27,8 @@ import ModernDocking.internal.DockingInternal;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.GraphicsDevice.WindowTranslucency;
+import java.awt.image.BufferedImage;
 
 import static ModernDocking.internal.DockingInternal.getWrapper;
 
@@ -34,23 +36,14 @@ import static ModernDocking.internal.DockingInternal.getWrapper;
 public class TempFloatingFrame extends JFrame {
 	private static final int BORDER_SIZE = 2;
 
-	public TempFloatingFrame(Dockable dockable, JComponent dragSrc) {
-		setLayout(new BorderLayout()); // keep it simple, just use border layout
-		setUndecorated(true); // hide the frame
-		setType(Type.UTILITY); // keeps the frame from appearing in the task bar frames
-		setCursor(Cursor.getPredefinedCursor(Cursor.MOVE_CURSOR)); //  this frame is only showing while moving
+	// opacity of the preview when dragging a snapshot of the dockable or when it's painted into a DockingUtilsLayer
+	static final float PREVIEW_OPACITY = 0.75f;
 
-		// size the frame to the dockable size
-		Dimension size = getWrapper(dockable).getDisplayPanel().getSize();
-//		size.width += Docking.frameBorderSizes.right;
-//		size.height += Docking.frameBorderSizes.bottom;
-		setSize(size);
+	// image of the frame contents, painted in place of the frame when it's over a DockingUtilsLayer
+	private BufferedImage previewImage = null;
 
-		// set the frame position to match the current dockable position
-		Point newPoint = new Point(dragSrc.getLocation());
-		SwingUtilities.convertPointToScreen(newPoint, dragSrc.getParent());
-
-		setLocation(newPoint);
+	public TempFloatingFrame(Dockable dockable, JComponent dragSrc) {
+		configureFrame(getWrapper(dockable).getDisplayPanel().getSize(), dragSrc);
 
 		// put the dockable in a panel with a border around it to make it look better
 		JPanel panel = new JPanel(new GridBagLayout());
@@ -72,4 +65,91 @@ public class TempFloatingFrame extends JFrame {
 
 		setVisible(true);
 	}
+
+	// show a translucent image of the dockable instead of the dockable itself. the dockable stays where it is until it's dropped
+	public TempFloatingFrame(BufferedImage snapshot, Dimension size, JComponent dragSrc) {
+		configureFrame(size, dragSrc);
+
+		JComponent preview = new JComponent() {
+			@Override
+			protected void paintComponent(Graphics g) {
+				// the snapshot might be at a higher resolution than the component, scale it to fit
+				g.drawImage(snapshot, 0, 0, getWidth(), getHeight(), null);
+			}
+		};
+
+		Color color = UIManager.getColor("Component.focusColor");
+		preview.setBorder(BorderFactory.createLineBorder(color, BORDER_SIZE));
+
+		add(preview, BorderLayout.CENTER);
+
+		previewImage = snapshot;
+
+		// snapshot previews are translucent where the desktop supports it
+		GraphicsDevice device = getGraphicsConfiguration().getDevice();
+
+		if (device.isWindowTranslucencySupported(WindowTranslucency.TRANSLUCENT)) {
+			setOpacity(PREVIEW_OPACITY);
+		}
+
+		setVisible(true);
+	}
+
+	// get an image of the frame contents. the frame is hidden while it's over a window that draws its drop feedback in a
+	// DockingUtilsLayer, the layer paints this image in its place so that the handles are never covered by the frame
+	public BufferedImage getPreviewImage() {
+		if (previewImage == null) {
+			Container contents = getContentPane();
+
+			int width = Math.max(1, contents.getWidth());
+			int height = Math.max(1, contents.getHeight());
+
+			previewImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+			Graphics2D g = previewImage.createGraphics();
+			contents.paint(g);
+			g.dispose();
+		}
+		return previewImage;
+	}
+
+	// render the display panel of the dockable into an image at the resolution of the screen it's on
+	public static BufferedImage createSnapshot(Dockable dockable) {
+		JComponent displayPanel = getWrapper(dockable).getDisplayPanel();
+
+		int width = Math.max(1, displayPanel.getWidth());
+		int height = Math.max(1, displayPanel.getHeight());
+
+		GraphicsConfiguration config = displayPanel.getGraphicsConfiguration();
+		double scale = config != null ? config.getDefaultTransform().getScaleX() : 1.0;
+
+		BufferedImage snapshot = new BufferedImage((int) Math.ceil(width * scale), (int) Math.ceil(height * scale), BufferedImage.TYPE_INT_ARGB);
+
+		Graphics2D g = snapshot.createGraphics();
+		g.scale(scale, scale);
+
+		displayPanel.paint(g);
+
+		g.dispose();
+
+		return snapshot;
+	}
+
+	private void configureFrame(Dimension size, JComponent dragSrc) {
+		setLayout(new BorderLayout()); // keep it simple, just use border layout
+		setUndecorated(true); // hide the frame
+		setType(Type.UTILITY); // keeps the frame from appearing in the task bar frames
+		setCursor(Cursor.getPredefinedCursor(Cursor.MOVE_CURSOR)); //  this frame is only showing while moving
+
+		// size the frame to the dockable size
+//		size.width += Docking.frameBorderSizes.right;
+//		size.height += Docking.frameBorderSizes.bottom;
+		setSize(size);
+
+		// set the frame position to match the current dockable position
+		Point newPoint = new Point(dragSrc.getLocation());
+		SwingUtilities.convertPointToScreen(newPoint, dragSrc.getParent());
+
+		setLocation(newPoint);
+	}
 }
@@ -21,41 +21,57 @@ SOFTWARE.
  */
 package ModernDocking.internal;
 
+import ModernDocking.Docking;
 import ModernDocking.persist.AppState;
 
 import java.awt.*;
-import java.awt.event.ComponentAdapter;
-import java.awt.event.ComponentEvent;
-import java.awt.event.WindowEvent;
-import java.awt.event.WindowStateListener;
+import java.awt.event.*;
 
 // simple internal class that calls AppState.persist() whenever a frame resizes, moves or changes state
 public class AppStatePersister extends ComponentAdapter implements WindowStateListener {
+	// flush the layout when the main window is closing, the application is most likely about to exit
+	private final WindowListener closingListener = new WindowAdapter() {
+		@Override
+		public void windowClosing(WindowEvent e) {
+			if (e.getWindow() == Docking.getInstance().getMainWindow()) {
+				AppState.flush();
+			}
+		}
+	};
+
 	public AppStatePersister() {
 	}
 
 	public void addFrame(Window window) {
 		window.addComponentListener(this);
 		window.addWindowStateListener(this);
+		window.addWindowListener(closingListener);
 	}
 
 	public void removeFrame(Window window) {
 		window.removeComponentListener(this);
 		window.removeWindowStateListener(this);
+		window.removeWindowListener(closingListener);
 	}
 
 	@Override
 	public void componentResized(ComponentEvent e) {
+		DockingLayoutModel.windowChanged((Window) e.getComponent());
+
 		AppState.persist();
 	}
 
 	@Override
 	public void componentMoved(ComponentEvent e) {
+		DockingLayoutModel.windowChanged((Window) e.getComponent());
+
 		AppState.persist();
 	}
 
 	@Override
 	public void windowStateChanged(WindowEvent e) {
+		DockingLayoutModel.windowChanged(e.getWindow());
+
 		AppState.persist();
 	}
 }
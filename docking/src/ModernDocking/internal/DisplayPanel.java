@@ -23,28 +23,149 @@ package ModernDocking.internal;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.awt.event.WindowEvent;
+import java.awt.event.WindowStateListener;
+
+public class DisplayPanel extends JPanel implements HierarchyListener, WindowStateListener {
+	// when enabled the dockable is not added until the display panel is first shown
+	private static boolean deferContent = false;
 
-public class DisplayPanel extends JPanel {
 	private final DockableWrapper wrapper;
 
+	// stands in for the dockable until it's shown, null once the dockable has been added
+	private JPanel placeholder = null;
+
+	private boolean realized = false;
+
+	// whether the dockable was last reported as shown or hidden
+	private boolean shown = false;
+
+	// the window we're listening to for iconify events
+	private Window window = null;
+
+	// only applies to display panels created after it's set, including those recreated for a dockable whose UI was released
+	public static void setDeferContent(boolean defer) {
+		deferContent = defer;
+	}
+
 	public DisplayPanel(DockableWrapper wrapper) {
 		this.wrapper = wrapper;
 
-		setLayout(new GridBagLayout());
+		// header across the top at its preferred height, the dockable takes the rest
+		setLayout(new BorderLayout());
+
+		add((Component) wrapper.getUI(), BorderLayout.NORTH);
+
+		// hidden tabs and unpinned panels don't need the real content until they're shown
+		if (deferContent) {
+			placeholder = new JPanel();
+			add(placeholder, BorderLayout.CENTER);
+		}
+		else {
+			add((Component) wrapper.getDockable(), BorderLayout.CENTER);
+		}
 
-		GridBagConstraints gbc = new GridBagConstraints();
+		addHierarchyListener(this);
+	}
+
+	public boolean isRealized() {
+		return realized;
+	}
+
+	// add the dockable if it was deferred and let it know that it's being shown for the first time
+	public void realize() {
+		if (realized) {
+			return;
+		}
+		realized = true;
+
+		if (placeholder != null) {
+			remove(placeholder);
+			placeholder = null;
+
+			add((Component) wrapper.getDockable(), BorderLayout.CENTER);
+
+			revalidate();
+			repaint();
+		}
+
+		wrapper.getDockable().onRealized();
+	}
+
+	// true if the dockable can currently be seen. false if it's in a hidden tab, a closed unpinned panel,
+	// behind a maximized dockable, in an iconified window or not docked
+	public boolean isShownToUser() {
+		return shown;
+	}
+
+	@Override
+	public void hierarchyChanged(HierarchyEvent e) {
+		// we might have moved to another window
+		if ((e.getChangeFlags() & (HierarchyEvent.PARENT_CHANGED | HierarchyEvent.DISPLAYABILITY_CHANGED)) != 0) {
+			trackWindow();
+		}
+
+		if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+			if (isShowing()) {
+				realize();
+			}
+			updateShown();
+		}
+	}
+
+	@Override
+	public void windowStateChanged(WindowEvent e) {
+		updateShown();
+	}
+
+	private void trackWindow() {
+		Window newWindow = isDisplayable() ? SwingUtilities.getWindowAncestor(this) : null;
+
+		if (newWindow == window) {
+			return;
+		}
+
+		if (window != null) {
+			window.removeWindowStateListener(this);
+		}
+
+		window = newWindow;
+
+		if (window != null) {
+			window.addWindowStateListener(this);
+		}
+	}
+
+	// tell the dockable when it's shown or hidden so that it can stop doing work that nobody can see
+	private void updateShown() {
+		boolean iconified = window instanceof Frame && (((Frame) window).getExtendedState() & Frame.ICONIFIED) != 0;
+		boolean nowShown = isShowing() && !iconified;
+
+		if (nowShown == shown) {
+			return;
+		}
+		shown = nowShown;
+
+		if (shown) {
+			wrapper.getDockable().onShown();
+		}
+		else {
+			wrapper.getDockable().onHidden();
+		}
+	}
 
-		gbc.gridx = 0;
-		gbc.gridy = 0;
-		gbc.fill = GridBagConstraints.HORIZONTAL;
-		gbc.weightx = 1.0;
+	// the wrapper is releasing its UI, remove the header and dockable so they don't keep this panel alive
+	public void release() {
+		removeHierarchyListener(this);
 
-		add((Component) wrapper.getUI(), gbc);
-		gbc.gridy++;
-		gbc.weighty = 1.0;
-		gbc.fill = GridBagConstraints.BOTH;
+		if (window != null) {
+			window.removeWindowStateListener(this);
+			window = null;
+		}
 
-		add((Component) wrapper.getDockable(), gbc);
+		removeAll();
 	}
 
 	public DockableWrapper getWrapper() {
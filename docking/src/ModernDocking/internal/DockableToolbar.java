@@ -81,7 +81,7 @@ public class DockableToolbar extends JPanel implements ComponentListener {
 	private final UnselectableButtonGroup buttonGroup = new UnselectableButtonGroup();
 
 	public DockableToolbar(Window window, RootDockingPanel root, Location location) {
-		super(new GridBagLayout());
+		super(new ToolbarLayout(location == Location.EAST || location == Location.WEST));
 
 		// the window must be a JFrame or a JDialog to support pinning (we need a JLayeredPane)
 		assert window instanceof JFrame || window instanceof JDialog;
@@ -101,33 +101,6 @@ public class DockableToolbar extends JPanel implements ComponentListener {
 		return location == Location.EAST || location == Location.WEST;
 	}
 
-	private void createContents() {
-		removeAll();
-
-		GridBagConstraints gbc = new GridBagConstraints();
-		gbc.gridx = 0;
-		gbc.gridy = 0;
-
-		for (Entry dockable : dockables) {
-			add(dockable.button, gbc);
-
-			if (isVertical()) {
-				gbc.gridy++;
-			}
-			else {
-				gbc.gridx++;
-			}
-		}
-
-		if (isVertical()) {
-			gbc.weighty = 1.0;
-		}
-		else {
-			gbc.weightx = 1.0;
-		}
-		add(new JLabel(""), gbc);
-	}
-
 	private void updateButtons() {
 		for (Entry entry : dockables) {
 			// set only a single panel visible
@@ -141,28 +114,15 @@ public class DockableToolbar extends JPanel implements ComponentListener {
 
 			JToggleButton button = new JToggleButton();
 
-			button.setIcon(dockable.getIcon());
+			setButtonText(button, dockable);
 
 			if (isVertical()) {
-				TextIcon textIcon = new TextIcon(button, dockable.getTabText(), TextIcon.Layout.HORIZONTAL);
-				RotatedIcon rotatedIcon = new RotatedIcon(textIcon, location == Location.WEST ? RotatedIcon.Rotate.UP : RotatedIcon.Rotate.DOWN);
-
-				if (wrapper.getDockable().getIcon() != null) {
-					button.setIcon(new CombinedIcon(wrapper.getDockable().getIcon(), rotatedIcon));
-				}
-				else {
-					button.setIcon(rotatedIcon);
-				}
-
 				Insets insets = UIManager.getInsets("Button.margin");
 				// purposefully putting them in this order to set the margins of a vertical button
 				//noinspection SuspiciousNameCombination
 				Insets margin = new Insets(insets.left, insets.top, insets.left, insets.top);
 				button.setMargin(margin);
 			}
-			else {
-				button.setText(dockable.getTabText());
-			}
 
 			DockedUnpinnedPanel panel = new DockedUnpinnedPanel(dockable, root, this);
 
@@ -186,7 +146,37 @@ public class DockableToolbar extends JPanel implements ComponentListener {
 
 			layeredPane.add(panel, root.getPinningLayer());
 
-			createContents();
+			add(button);
+
+			revalidate();
+			repaint();
+		}
+	}
+
+	// the tab text or icon of the dockable has changed, update its button
+	public void updateDockable(Dockable dockable) {
+		for (Entry entry : dockables) {
+			if (entry.dockable == dockable) {
+				setButtonText(entry.button, dockable);
+			}
+		}
+	}
+
+	private void setButtonText(JToggleButton button, Dockable dockable) {
+		if (isVertical()) {
+			TextIcon textIcon = new TextIcon(button, dockable.getTabText(), TextIcon.Layout.HORIZONTAL);
+			RotatedIcon rotatedIcon = new RotatedIcon(textIcon, location == Location.WEST ? RotatedIcon.Rotate.UP : RotatedIcon.Rotate.DOWN);
+
+			if (dockable.getIcon() != null) {
+				button.setIcon(new CombinedIcon(dockable.getIcon(), rotatedIcon));
+			}
+			else {
+				button.setIcon(rotatedIcon);
+			}
+		}
+		else {
+			button.setIcon(dockable.getIcon());
+			button.setText(dockable.getTabText());
 		}
 	}
 
@@ -203,12 +193,16 @@ public class DockableToolbar extends JPanel implements ComponentListener {
 				}
 
 				layeredPane.remove(entry.panel);
+
+				remove(entry.button);
+				buttonGroup.remove(entry.button);
+
+				revalidate();
+				repaint();
 				break;
 			}
 		}
-		if (dockables.removeIf(panel -> panel.dockable.equals(dockable))) {
-			createContents();
-		}
+		dockables.removeIf(panel -> panel.dockable.equals(dockable));
 	}
 
 	public boolean hasDockable(Dockable dockable) {
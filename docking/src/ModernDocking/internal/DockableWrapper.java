@@ -32,17 +32,25 @@ import javax.swing.*;
 import java.awt.*;
 
 // internal wrapper around the Dockable implemented by the application.
-// lets us provide access to the dockable and its parent in the hierarchy
+// lets us provide access to the dockable and its parent in the hierarchy.
+// the header, drag listener and display panel are only created when they're first needed and are released again after the
+// dockable has been undocked for a while, registering a dockable doesn't create any Swing components
 public class DockableWrapper {
-	private final HeaderController headerController;
+	// how long a dockable has to stay undocked before its UI is released, negative keeps the UI until the dockable is deregistered
+	private static int uiReleaseDelay = 30_000;
+
+	private HeaderController headerController;
 	private Window window;
 	private DockingPanel parent = null;
 	private final Dockable dockable;
 
 	private FloatListener floatListener;
-	private final DockingHeaderUI headerUI;
+	private DockingHeaderUI headerUI;
+
+	private DisplayPanel displayPanel;
 
-	private final DisplayPanel displayPanel;
+	// releases the UI once the dockable has been undocked for uiReleaseDelay
+	private Timer releaseTimer = null;
 
 	private boolean maximized = false;
 	private boolean unpinned = false;
@@ -50,6 +58,23 @@ public class DockableWrapper {
 
 	public DockableWrapper(Dockable dockable) {
 		this.dockable = dockable;
+	}
+
+	public static void setUIReleaseDelay(int millis) {
+		uiReleaseDelay = millis;
+	}
+
+	// true if the header and display panel currently exist
+	public boolean hasUI() {
+		return displayPanel != null;
+	}
+
+	// create the header, drag listener and display panel if they don't exist yet
+	private void ensureUI() {
+		// checking the header because the display panel asks for it while it's being created
+		if (headerUI != null) {
+			return;
+		}
 
 		HeaderModel headerModel = new HeaderModel(dockable);
 		headerController = new HeaderController(dockable, headerModel);
@@ -60,16 +85,65 @@ public class DockableWrapper {
 		displayPanel = new DisplayPanel(this);
 	}
 
+	// remove the listeners of the UI and let it be garbage collected. it will be created again if the dockable is docked.
+	// also used when the dockable is deregistered so that the UI is never left partially torn down
+	void releaseUI() {
+		if (displayPanel == null) {
+			return;
+		}
+
+		removedListeners();
+
+		displayPanel.release();
+
+		headerController = null;
+		headerUI = null;
+		floatListener = null;
+		displayPanel = null;
+	}
+
+	private boolean isInUse() {
+		return parent != null || window != null || unpinned || (floatListener != null && floatListener.isDragging());
+	}
+
+	private void scheduleRelease() {
+		if (uiReleaseDelay < 0 || displayPanel == null) {
+			return;
+		}
+
+		if (releaseTimer == null) {
+			releaseTimer = new Timer(uiReleaseDelay, e -> {
+				// the dockable might have been docked again or is being dragged to a new spot
+				if (isInUse()) {
+					return;
+				}
+				releaseUI();
+			});
+			releaseTimer.setRepeats(false);
+		}
+		releaseTimer.setInitialDelay(uiReleaseDelay);
+		releaseTimer.restart();
+	}
+
 	public Window getWindow() {
 		return window;
 	}
 
 	public void setWindow(Window window) {
 		this.window = window;
+
+		DockingInternal.updateTypeIndex(this);
+
+		// the dockable has been undocked
+		if (window == null && parent == null && !unpinned) {
+			scheduleRelease();
+		}
 	}
 
 	public void setParent(DockingPanel parent) {
 		this.parent = parent;
+
+		DockingInternal.updateTypeIndex(this);
 	}
 
 	public Dockable getDockable() {
@@ -77,8 +151,13 @@ public class DockableWrapper {
 	}
 
 	public void removedListeners() {
+		if (releaseTimer != null) {
+			releaseTimer.stop();
+		}
+
 		if (floatListener != null) {
 			headerController.removeListeners();
+			headerUI.removeListeners();
 
 			// make sure we don't get a stackoverflow
 			FloatListener listener = floatListener;
@@ -106,13 +185,19 @@ public class DockableWrapper {
 
 	public void setUnpinned(boolean unpinned) {
 		this.unpinned = unpinned;
+
+		DockingInternal.updateTypeIndex(this);
 	}
 
 	public DockingHeaderUI getUI() {
+		ensureUI();
+
 		return headerUI;
 	}
 
 	public DisplayPanel getDisplayPanel() {
+		ensureUI();
+
 		return displayPanel;
 	}
 
@@ -0,0 +1,562 @@
+/*
+Copyright (c) 2023 Andrew Auclair
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package ModernDocking.internal;
+
+import ModernDocking.Dockable;
+import ModernDocking.DockingRegion;
+import ModernDocking.layouts.DockingLayoutNode;
+import ModernDocking.layouts.DockingMultiSplitPanelNode;
+import ModernDocking.persist.AppState;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// DockingPanel that holds any number of panels side by side along a single axis. each panel has a weight that decides its share
+// of the space. when multi-splits are enabled, docking beside a panel adds to its multi-split instead of nesting another split
+public class DockedMultiSplitPanel extends DockingPanel {
+	private static boolean multiSplitsEnabled = false;
+
+	private final List<DockingPanel> panels = new ArrayList<>();
+	private final List<Double> weights = new ArrayList<>();
+	private final List<Divider> dividers = new ArrayList<>();
+
+	private final Window window;
+	// JSplitPane.HORIZONTAL_SPLIT or JSplitPane.VERTICAL_SPLIT
+	private final int orientation;
+	private final int dividerSize;
+
+	private DockingPanel parent;
+
+	// average time it takes to lay out the panels, used to decide if dividers are dragged as an outline
+	private long averageLayoutNanos = 0;
+	// location of the divider outline being dragged, -1 when there is no outline
+	private int outlineLocation = -1;
+
+	public DockedMultiSplitPanel(Window window, int orientation) {
+		this.window = window;
+		this.orientation = orientation;
+
+		int size = UIManager.getInt("SplitPane.dividerSize");
+		dividerSize = size > 0 ? size : 5;
+
+		setLayout(new MultiSplitLayout());
+	}
+
+	public static boolean isMultiSplitsEnabled() {
+		return multiSplitsEnabled;
+	}
+
+	// use multi-splits instead of nested split panels when docking to the sides of a panel. disabled by default
+	public static void setMultiSplitsEnabled(boolean enabled) {
+		multiSplitsEnabled = enabled;
+	}
+
+	public int getOrientation() {
+		return orientation;
+	}
+
+	public List<DockingPanel> getPanels() {
+		return Collections.unmodifiableList(panels);
+	}
+
+	// the weights of the panels, scaled to add up to 1
+	public List<Double> getWeights() {
+		double total = totalWeight();
+
+		List<Double> normalized = new ArrayList<>();
+
+		for (Double weight : weights) {
+			normalized.add(total > 0 ? weight / total : 1.0 / weights.size());
+		}
+		return normalized;
+	}
+
+	public void setWeights(List<Double> weights) {
+		if (weights.size() != panels.size()) {
+			throw new IllegalArgumentException("Expected " + panels.size() + " weights, got " + weights.size());
+		}
+		this.weights.clear();
+		this.weights.addAll(weights);
+
+		revalidate();
+		repaint();
+
+		layoutChanged();
+	}
+
+	public void addPanel(DockingPanel panel, double weight) {
+		insertPanel(panels.size(), panel, weight);
+	}
+
+	public void insertPanel(int index, DockingPanel panel, double weight) {
+		// a multi-split with the same orientation is merged into this one instead of being nested
+		if (panel instanceof DockedMultiSplitPanel && ((DockedMultiSplitPanel) panel).orientation == orientation) {
+			DockedMultiSplitPanel other = (DockedMultiSplitPanel) panel;
+
+			List<DockingPanel> otherPanels = new ArrayList<>(other.panels);
+			List<Double> otherWeights = other.getWeights();
+
+			other.panels.clear();
+			other.weights.clear();
+
+			for (int i = 0; i < otherPanels.size(); i++) {
+				insertPanel(index + i, otherPanels.get(i), weight * otherWeights.get(i));
+			}
+			return;
+		}
+
+		panel.setParent(this);
+
+		panels.add(index, panel);
+		weights.add(index, weight);
+
+		add(panel);
+		updateDividers();
+
+		revalidate();
+		repaint();
+
+		layoutChanged();
+	}
+
+	private void removePanel(int index) {
+		remove(panels.get(index));
+
+		panels.remove(index);
+		weights.remove(index);
+
+		updateDividers();
+
+		revalidate();
+		repaint();
+
+		layoutChanged();
+	}
+
+	// dock the new panel beside the target. the new panel is added to the parent if it is a multi-split in the same direction,
+	// otherwise the target is replaced with a new multi-split holding both panels
+	public static void dockBeside(DockingPanel parent, DockingPanel target, DockingPanel newPanel, DockingRegion region, double dividerProportion, Window window) {
+		int orientation = region == DockingRegion.EAST || region == DockingRegion.WEST ? JSplitPane.HORIZONTAL_SPLIT : JSplitPane.VERTICAL_SPLIT;
+		boolean after = region == DockingRegion.EAST || region == DockingRegion.SOUTH;
+
+		if (target instanceof DockedSplitPanel && ((DockedSplitPanel) target).getSplitPane().getOrientation() == orientation) {
+			// a split in the same direction is flattened into a multi-split with its two panels and the new panel. the multi-split
+			// is filled before it replaces the split so that it's merged if the parent is a multi-split in the same direction
+			DockedSplitPanel split = (DockedSplitPanel) target;
+			double proportion = split.getDividerProportion();
+
+			DockedMultiSplitPanel multiSplit = new DockedMultiSplitPanel(window, orientation);
+
+			if (!after) {
+				multiSplit.addPanel(newPanel, dividerProportion);
+			}
+			multiSplit.addPanel(split.getLeft(), (1.0 - dividerProportion) * proportion);
+			multiSplit.addPanel(split.getRight(), (1.0 - dividerProportion) * (1.0 - proportion));
+
+			if (after) {
+				multiSplit.addPanel(newPanel, dividerProportion);
+			}
+
+			parent.replaceChild(split, multiSplit);
+		}
+		else if (parent instanceof DockedMultiSplitPanel && ((DockedMultiSplitPanel) parent).orientation == orientation) {
+			DockedMultiSplitPanel multiSplit = (DockedMultiSplitPanel) parent;
+
+			// the new panel takes its share of the space from the target
+			int index = multiSplit.panels.indexOf(target);
+			double weight = multiSplit.weights.get(index);
+
+			multiSplit.weights.set(index, weight * (1.0 - dividerProportion));
+			multiSplit.insertPanel(after ? index + 1 : index, newPanel, weight * dividerProportion);
+		}
+		else {
+			DockedMultiSplitPanel multiSplit = new DockedMultiSplitPanel(window, orientation);
+			parent.replaceChild(target, multiSplit);
+
+			if (after) {
+				multiSplit.addPanel(target, 1.0 - dividerProportion);
+				multiSplit.addPanel(newPanel, dividerProportion);
+			}
+			else {
+				multiSplit.addPanel(newPanel, dividerProportion);
+				multiSplit.addPanel(target, 1.0 - dividerProportion);
+			}
+		}
+	}
+
+	@Override
+	public void setParent(DockingPanel parent) {
+		this.parent = parent;
+	}
+
+	@Override
+	public void dock(Dockable dockable, DockingRegion region, double dividerProportion) {
+		DockableWrapper wrapper = DockingInternal.getWrapper(dockable);
+
+		// docking to the center of a split isn't something we allow, same as DockedSplitPanel
+		if (region == DockingRegion.CENTER) {
+			region = orientation == JSplitPane.HORIZONTAL_SPLIT ? DockingRegion.WEST : DockingRegion.NORTH;
+		}
+
+		wrapper.setWindow(window);
+
+		DockedSimplePanel newPanel = new DockedSimplePanel(wrapper);
+
+		int regionOrientation = region == DockingRegion.EAST || region == DockingRegion.WEST ? JSplitPane.HORIZONTAL_SPLIT : JSplitPane.VERTICAL_SPLIT;
+
+		if (regionOrientation == orientation) {
+			// the new panel takes its share of the space from the entire split
+			double weight = totalWeight() * dividerProportion / Math.max(1.0 - dividerProportion, 0.01);
+
+			if (region == DockingRegion.EAST || region == DockingRegion.SOUTH) {
+				addPanel(newPanel, weight);
+			}
+			else {
+				insertPanel(0, newPanel, weight);
+			}
+		}
+		else {
+			dockBeside(parent, this, newPanel, region, dividerProportion, window);
+		}
+	}
+
+	@Override
+	public void undock(Dockable dockable) {
+	}
+
+	@Override
+	public void replaceChild(DockingPanel child, DockingPanel newChild) {
+		int index = panels.indexOf(child);
+
+		if (index != -1) {
+			double weight = weights.get(index);
+
+			removePanel(index);
+			insertPanel(index, newChild, weight);
+		}
+	}
+
+	@Override
+	public void removeChild(DockingPanel child) {
+		int index = panels.indexOf(child);
+
+		if (index == -1) {
+			return;
+		}
+
+		removePanel(index);
+
+		// a multi-split with a single panel isn't needed anymore
+		if (panels.size() == 1) {
+			DockingPanel remaining = panels.get(0);
+
+			removePanel(0);
+			parent.replaceChild(this, remaining);
+		}
+	}
+
+	@Override
+	protected void validateTree() {
+		long start = System.nanoTime();
+
+		super.validateTree();
+
+		long elapsed = System.nanoTime() - start;
+
+		// moving average so that a single slow layout doesn't change the drag mode, same as DockedSplitPanel
+		averageLayoutNanos = averageLayoutNanos == 0 ? elapsed : (averageLayoutNanos * 3 + elapsed) / 4;
+	}
+
+	@Override
+	public void paint(Graphics g) {
+		super.paint(g);
+
+		// draw the outline of the divider on top of the panels while it's being dragged
+		if (outlineLocation != -1) {
+			Color color = UIManager.getColor("SplitPaneDivider.draggingColor");
+
+			g.setColor(color != null ? color : Color.DARK_GRAY);
+
+			if (isHorizontal()) {
+				g.fillRect(outlineLocation, 0, dividerSize, getHeight());
+			}
+			else {
+				g.fillRect(0, outlineLocation, getWidth(), dividerSize);
+			}
+		}
+	}
+
+	@Override
+	protected DockingLayoutNode createLayoutNode() {
+		DockingMultiSplitPanelNode node = new DockingMultiSplitPanelNode(orientation);
+
+		List<Double> weights = getWeights();
+
+		for (int i = 0; i < panels.size(); i++) {
+			node.addChild(panels.get(i).getLayoutNode(), weights.get(i));
+		}
+		return node;
+	}
+
+	private double totalWeight() {
+		double total = 0;
+
+		for (Double weight : weights) {
+			total += weight;
+		}
+		return total;
+	}
+
+	// keep a divider between each pair of panels
+	private void updateDividers() {
+		while (dividers.size() < panels.size() - 1) {
+			Divider divider = new Divider();
+			dividers.add(divider);
+			add(divider);
+		}
+
+		while (dividers.size() > Math.max(panels.size() - 1, 0)) {
+			remove(dividers.remove(dividers.size() - 1));
+		}
+	}
+
+	private boolean isHorizontal() {
+		return orientation == JSplitPane.HORIZONTAL_SPLIT;
+	}
+
+	private int sizeAlongAxis(Dimension size) {
+		return isHorizontal() ? size.width : size.height;
+	}
+
+	// divider between two panels, dragging it moves space between the two panels next to it
+	private class Divider extends JComponent {
+		private int dragStart = 0;
+		private int firstSize = 0;
+		private int secondSize = 0;
+
+		// the size of the first panel at the current drag location
+		private int newFirstSize = 0;
+		private boolean dragged = false;
+		// drag as an outline and lay out the panels once on release when layout is slow
+		private boolean outline = false;
+
+		private Divider() {
+			setCursor(Cursor.getPredefinedCursor(isHorizontal() ? Cursor.E_RESIZE_CURSOR : Cursor.S_RESIZE_CURSOR));
+
+			MouseAdapter adapter = new MouseAdapter() {
+				@Override
+				public void mousePressed(MouseEvent e) {
+					int index = dividers.indexOf(Divider.this);
+
+					dragStart = mousePosition(e);
+					firstSize = sizeAlongAxis(panels.get(index).getSize());
+					secondSize = sizeAlongAxis(panels.get(index + 1).getSize());
+
+					dragged = false;
+					outline = DockedSplitPanel.isLayoutSlow(averageLayoutNanos);
+				}
+
+				@Override
+				public void mouseDragged(MouseEvent e) {
+					int index = dividers.indexOf(Divider.this);
+
+					DockingPanel first = panels.get(index);
+					DockingPanel second = panels.get(index + 1);
+
+					int total = firstSize + secondSize;
+
+					if (total <= 0) {
+						return;
+					}
+
+					int minFirst = sizeAlongAxis(first.getMinimumSize());
+					int minSecond = sizeAlongAxis(second.getMinimumSize());
+
+					newFirstSize = firstSize + mousePosition(e) - dragStart;
+					newFirstSize = Math.max(Math.min(newFirstSize, total - minSecond), Math.min(minFirst, total));
+
+					dragged = true;
+
+					if (outline) {
+						outlineLocation = (isHorizontal() ? first.getX() : first.getY()) + newFirstSize;
+
+						DockedMultiSplitPanel.this.repaint();
+					}
+					else {
+						resizePair(index);
+					}
+				}
+
+				@Override
+				public void mouseReleased(MouseEvent e) {
+					// a click without a drag doesn't change anything, double clicks are handled in mouseClicked
+					if (!dragged) {
+						return;
+					}
+					dragged = false;
+
+					if (outline) {
+						outline = false;
+						outlineLocation = -1;
+
+						resizePair(dividers.indexOf(Divider.this));
+					}
+
+					layoutChanged();
+
+					AppState.persist();
+				}
+
+				@Override
+				public void mouseClicked(MouseEvent e) {
+					// split the space evenly between the two panels
+					if (e.getClickCount() >= 2) {
+						int index = dividers.indexOf(Divider.this);
+
+						double pairWeight = weights.get(index) + weights.get(index + 1);
+
+						weights.set(index, pairWeight / 2.0);
+						weights.set(index + 1, pairWeight / 2.0);
+
+						DockedMultiSplitPanel.this.revalidate();
+						DockedMultiSplitPanel.this.repaint();
+
+						layoutChanged();
+
+						AppState.persist();
+					}
+				}
+			};
+
+			addMouseListener(adapter);
+			addMouseMotionListener(adapter);
+		}
+
+		// split the combined weight of the two panels next to this divider by their new sizes
+		private void resizePair(int index) {
+			int total = firstSize + secondSize;
+
+			double pairWeight = weights.get(index) + weights.get(index + 1);
+
+			weights.set(index, pairWeight * newFirstSize / total);
+			weights.set(index + 1, pairWeight * (total - newFirstSize) / total);
+
+			DockedMultiSplitPanel.this.revalidate();
+			DockedMultiSplitPanel.this.repaint();
+		}
+
+		private int mousePosition(MouseEvent e) {
+			Point point = SwingUtilities.convertPoint(this, e.getPoint(), DockedMultiSplitPanel.this);
+			return isHorizontal() ? point.x : point.y;
+		}
+	}
+
+	// lays out the panels along the axis by weight with the dividers in between
+	private class MultiSplitLayout implements LayoutManager {
+		@Override
+		public void addLayoutComponent(String name, Component comp) {
+		}
+
+		@Override
+		public void removeLayoutComponent(Component comp) {
+		}
+
+		@Override
+		public Dimension preferredLayoutSize(Container parent) {
+			return layoutSize(false);
+		}
+
+		@Override
+		public Dimension minimumLayoutSize(Container parent) {
+			return layoutSize(true);
+		}
+
+		private Dimension layoutSize(boolean minimum) {
+			int along = dividerSize * dividers.size();
+			int across = 0;
+
+			for (DockingPanel panel : panels) {
+				Dimension size = minimum ? panel.getMinimumSize() : panel.getPreferredSize();
+
+				along += sizeAlongAxis(size);
+				across = Math.max(across, isHorizontal() ? size.height : size.width);
+			}
+
+			Insets insets = getInsets();
+
+			if (isHorizontal()) {
+				return new Dimension(along + insets.left + insets.right, across + insets.top + insets.bottom);
+			}
+			return new Dimension(across + insets.left + insets.right, along + insets.top + insets.bottom);
+		}
+
+		@Override
+		public void layoutContainer(Container parent) {
+			Insets insets = getInsets();
+
+			int width = Math.max(0, getWidth() - insets.left - insets.right);
+			int height = Math.max(0, getHeight() - insets.top - insets.bottom);
+
+			int available = Math.max(0, (isHorizontal() ? width : height) - dividerSize * dividers.size());
+			double total = totalWeight();
+
+			int position = 0;
+			int used = 0;
+
+			for (int i = 0; i < panels.size(); i++) {
+				int size;
+
+				// the last panel takes whatever is left to avoid gaps from rounding
+				if (i == panels.size() - 1) {
+					size = available - used;
+				}
+				else {
+					size = total > 0 ? (int) Math.round(available * weights.get(i) / total) : available / panels.size();
+					size = Math.min(size, available - used);
+				}
+				used += size;
+
+				place(panels.get(i), position, size, insets, width, height);
+				position += size;
+
+				if (i < dividers.size()) {
+					place(dividers.get(i), position, dividerSize, insets, width, height);
+					position += dividerSize;
+				}
+			}
+		}
+
+		private void place(Component component, int position, int size, Insets insets, int width, int height) {
+			if (isHorizontal()) {
+				component.setBounds(insets.left + position, insets.top, size, height);
+			}
+			else {
+				component.setBounds(insets.left, insets.top + position, width, size);
+			}
+		}
+	}
+}
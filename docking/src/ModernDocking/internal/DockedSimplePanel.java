@@ -23,6 +23,8 @@ package ModernDocking.internal;
 
 import ModernDocking.Dockable;
 import ModernDocking.DockingRegion;
+import ModernDocking.layouts.DockingLayoutNode;
+import ModernDocking.layouts.DockingSimplePanelNode;
 
 import javax.swing.*;
 import java.awt.*;
@@ -69,6 +71,9 @@ public class DockedSimplePanel extends DockingPanel {
 
 			parent.replaceChild(this, tabbedPanel);
 		}
+		else if (DockedMultiSplitPanel.isMultiSplitsEnabled()) {
+			DockedMultiSplitPanel.dockBeside(parent, this, new DockedSimplePanel(wrapper), region, dividerProportion, this.dockable.getWindow());
+		}
 		else {
 			DockedSplitPanel split = new DockedSplitPanel(this.dockable.getWindow());
 			parent.replaceChild(this, split);
@@ -123,6 +128,13 @@ public class DockedSimplePanel extends DockingPanel {
 		// no-op, simple panel has no children
 	}
 
+	@Override
+	protected DockingLayoutNode createLayoutNode() {
+		Dockable dockable = this.dockable.getDockable();
+
+		return new DockingSimplePanelNode(dockable.getPersistentID(), dockable.getProperties());
+	}
+
 	private void setNotSelectedBorder() {
 		Color color = UIManager.getColor("Component.borderColor");
 
@@ -23,6 +23,8 @@ package ModernDocking.internal;
 
 import ModernDocking.Dockable;
 import ModernDocking.DockingRegion;
+import ModernDocking.layouts.DockingLayoutNode;
+import ModernDocking.layouts.DockingSplitPanelNode;
 import ModernDocking.persist.AppState;
 
 import javax.swing.*;
@@ -35,13 +37,52 @@ import java.beans.PropertyChangeListener;
 
 // DockingPanel that has a split pane with 2 dockables, split can be vertical or horizontal
 public class DockedSplitPanel extends DockingPanel implements MouseListener, PropertyChangeListener {
+	// average layout time, in milliseconds, above which the divider is dragged as an outline instead of laying out the dockables
+	// on every move. the dockables are laid out once when the divider is released
+	private static int slowLayoutThreshold = 16;
+
 	private DockingPanel left = null;
 	private DockingPanel right = null;
 
-	private final JSplitPane splitPane = new JSplitPane();
+	private final TimedSplitPane splitPane = new TimedSplitPane();
+
+	// true while the divider is being dragged with the mouse
+	private boolean draggingDivider = false;
 	private DockingPanel parent;
 	private final Window window;
 
+	// split pane that keeps track of how long it takes to lay out its children
+	private static class TimedSplitPane extends JSplitPane {
+		private long averageLayoutNanos = 0;
+
+		@Override
+		protected void validateTree() {
+			long start = System.nanoTime();
+
+			super.validateTree();
+
+			long elapsed = System.nanoTime() - start;
+
+			// moving average so that a single slow layout doesn't change the drag mode
+			averageLayoutNanos = averageLayoutNanos == 0 ? elapsed : (averageLayoutNanos * 3 + elapsed) / 4;
+		}
+
+		private boolean isLayoutSlow() {
+			return DockedSplitPanel.isLayoutSlow(averageLayoutNanos);
+		}
+	}
+
+	// check an average layout time against the slow layout threshold, shared with the dividers of DockedMultiSplitPanel
+	static boolean isLayoutSlow(long averageLayoutNanos) {
+		return averageLayoutNanos / 1_000_000 >= slowLayoutThreshold;
+	}
+
+	// set the average layout time, in milliseconds, above which split dividers are dragged as an outline.
+	// Integer.MAX_VALUE keeps continuous layout for all splits
+	public static void setSlowLayoutThreshold(int millis) {
+		slowLayoutThreshold = millis;
+	}
+
 	public DockedSplitPanel(Window window) {
 		this.window = window;
 		setLayout(new BorderLayout());
@@ -139,6 +180,17 @@ public class DockedSplitPanel extends DockingPanel implements MouseListener, Pro
 		return splitPane;
 	}
 
+	// the location of the divider as a proportion of the space available to the two panels
+	public double getDividerProportion() {
+		int size = splitPane.getOrientation() == JSplitPane.VERTICAL_SPLIT ? splitPane.getHeight() : splitPane.getWidth();
+		size -= splitPane.getDividerSize();
+
+		if (size <= 0) {
+			return splitPane.getResizeWeight();
+		}
+		return Math.max(0.0, Math.min(1.0, splitPane.getDividerLocation() / (double) size));
+	}
+
 	public DockingPanel getLeft() {
 		return left;
 	}
@@ -153,6 +205,8 @@ public class DockedSplitPanel extends DockingPanel implements MouseListener, Pro
 		splitPane.setLeftComponent(panel);
 
 		splitPane.setDividerLocation(dividerLocation);
+
+		layoutChanged();
 	}
 
 	public DockingPanel getRight() {
@@ -169,6 +223,8 @@ public class DockedSplitPanel extends DockingPanel implements MouseListener, Pro
 		splitPane.setRightComponent(panel);
 
 		splitPane.setDividerLocation(dividerLocation);
+
+		layoutChanged();
 	}
 
 	public void setOrientation(int orientation) {
@@ -183,6 +239,8 @@ public class DockedSplitPanel extends DockingPanel implements MouseListener, Pro
 				divider.setBorder(null);
 			}
 		}
+
+		layoutChanged();
 	}
 
 	@Override
@@ -202,6 +260,11 @@ public class DockedSplitPanel extends DockingPanel implements MouseListener, Pro
 
 		wrapper.setWindow(window);
 
+		if (DockedMultiSplitPanel.isMultiSplitsEnabled()) {
+			DockedMultiSplitPanel.dockBeside(parent, this, new DockedSimplePanel(wrapper), region, dividerProportion, window);
+			return;
+		}
+
 		DockedSplitPanel split = new DockedSplitPanel(window);
 		parent.replaceChild(this, split);
 
@@ -251,6 +314,11 @@ public class DockedSplitPanel extends DockingPanel implements MouseListener, Pro
 		}
 	}
 
+	@Override
+	protected DockingLayoutNode createLayoutNode() {
+		return new DockingSplitPanelNode(left.getLayoutNode(), right.getLayoutNode(), splitPane.getOrientation(), getDividerProportion());
+	}
+
 	@Override
 	public void mouseClicked(MouseEvent e) {
 		if (e.getClickCount() >= 2) {
@@ -260,23 +328,44 @@ public class DockedSplitPanel extends DockingPanel implements MouseListener, Pro
 
 	@Override
 	public void mousePressed(MouseEvent e) {
+		draggingDivider = true;
 	}
 
 	@Override
 	public void mouseReleased(MouseEvent e) {
+		draggingDivider = false;
+
+		// the split pane UI has already laid out the dockables at the final location, go back to continuous layout for next time
+		splitPane.setContinuousLayout(true);
+
+		layoutChanged();
+
 		AppState.persist();
 	}
 
 	@Override
 	public void mouseEntered(MouseEvent e) {
+		// the split pane UI decides between continuous and outline dragging when the drag starts, which is before our
+		// mousePressed is called, so the decision has to be made as the mouse enters the divider
+		if (!draggingDivider) {
+			splitPane.setContinuousLayout(!splitPane.isLayoutSlow());
+		}
 	}
 
 	@Override
 	public void mouseExited(MouseEvent e) {
+		if (!draggingDivider) {
+			splitPane.setContinuousLayout(true);
+		}
 	}
 
 	@Override
 	public void propertyChange(PropertyChangeEvent evt) {
-		AppState.persist();
+		// update the layout and persist once when the drag is done instead of for every move of the divider
+		if (!draggingDivider) {
+			layoutChanged();
+
+			AppState.persist();
+		}
 	}
 }
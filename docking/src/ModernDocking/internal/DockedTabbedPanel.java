@@ -23,6 +23,8 @@ package ModernDocking.internal;
 
 import ModernDocking.Dockable;
 import ModernDocking.DockingRegion;
+import ModernDocking.layouts.DockingLayoutNode;
+import ModernDocking.layouts.DockingTabPanelNode;
 import ModernDocking.persist.AppState;
 
 import javax.swing.*;
@@ -72,6 +74,8 @@ public class DockedTabbedPanel extends DockingPanel implements ChangeListener {
 
 		tabs.setIconAt(tabs.getTabCount() - 1, dockable.getDockable().getIcon());
 		tabs.setSelectedIndex(tabs.getTabCount() - 1);
+
+		layoutChanged();
 	}
 
 	public void removePanel(DockableWrapper dockable) {
@@ -79,6 +83,8 @@ public class DockedTabbedPanel extends DockingPanel implements ChangeListener {
 		tabs.remove(dockable.getDisplayPanel());
 
 		dockable.setParent(null);
+
+		layoutChanged();
 	}
 
 	public List<String> persistentIDs() {
@@ -103,6 +109,9 @@ public class DockedTabbedPanel extends DockingPanel implements ChangeListener {
 		if (region == DockingRegion.CENTER) {
 			addPanel(wrapper);
 		}
+		else if (DockedMultiSplitPanel.isMultiSplitsEnabled()) {
+			DockedMultiSplitPanel.dockBeside(parent, this, new DockedSimplePanel(wrapper), region, dividerProportion, panels.get(0).getWindow());
+		}
 		else {
 			DockedSplitPanel split = new DockedSplitPanel(panels.get(0).getWindow());
 			parent.replaceChild(this, split);
@@ -162,6 +171,16 @@ public class DockedTabbedPanel extends DockingPanel implements ChangeListener {
 		// no-op, docked tab can't have panel children, wrappers only
 	}
 
+	@Override
+	protected DockingLayoutNode createLayoutNode() {
+		DockingTabPanelNode node = new DockingTabPanelNode(getSelectedTabID());
+
+		for (String persistentID : persistentIDs()) {
+			node.addTab(persistentID);
+		}
+		return node;
+	}
+
 	private void setNotSelectedBorder() {
 		Color color = UIManager.getColor("Component.borderColor");
 
@@ -181,6 +200,19 @@ public class DockedTabbedPanel extends DockingPanel implements ChangeListener {
 				tabs.setSelectedIndex(i);
 			}
 		}
+
+		// the change listener is only installed while the tabs are displayed
+		layoutChanged();
+	}
+
+	@Override
+	public void updateTabInfo(Dockable dockable) {
+		for (int i = 0; i < panels.size(); i++) {
+			if (panels.get(i).getDockable() == dockable) {
+				tabs.setTitleAt(i, dockable.getTabText());
+				tabs.setIconAt(i, dockable.getIcon());
+			}
+		}
 	}
 
 	public String getSelectedTabID() {
@@ -189,6 +221,8 @@ public class DockedTabbedPanel extends DockingPanel implements ChangeListener {
 
 	@Override
 	public void stateChanged(ChangeEvent e) {
+		layoutChanged();
+
 		AppState.persist();
 	}
 }
@@ -31,8 +31,13 @@ import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionListener;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 public class DockedUnpinnedPanel extends JPanel implements ComponentListener, MouseMotionListener {
+	// the unpinned panels that are currently open. used to find dockables that are covered by them
+	private static final Set<DockedUnpinnedPanel> openPanels = new CopyOnWriteArraySet<>();
+
 	private final RootDockingPanel root;
 	private final DockableToolbar toolbar;
 
@@ -45,47 +50,22 @@ public class DockedUnpinnedPanel extends JPanel implements ComponentListener, Mo
 		root.addComponentListener(this);
 		addComponentListener(this);
 
-		setLayout(new GridBagLayout());
-
-		GridBagConstraints gbc = new GridBagConstraints();
-		gbc.gridx = 0;
-		gbc.gridy = 0;
-
+		setLayout(new BorderLayout());
 
 		DockedSimplePanel panel = new DockedSimplePanel(DockingInternal.getWrapper(dockable));
 		SlideBorder slideBorder = new SlideBorder(toolbar.getDockedLocation());
 
+		// the slide border goes on the side facing the middle of the window
 		if (toolbar.getDockedLocation() == DockableToolbar.Location.SOUTH) {
-			gbc.weightx = 1.0;
-			gbc.fill = GridBagConstraints.HORIZONTAL;
-			add(slideBorder, gbc);
-			gbc.weightx = 1.0;
-			gbc.weighty = 1.0;
-			gbc.fill = GridBagConstraints.BOTH;
-			gbc.gridy++;
-			add(panel, gbc);
+			add(slideBorder, BorderLayout.NORTH);
 		}
 		else if (toolbar.getDockedLocation() == DockableToolbar.Location.EAST) {
-			gbc.weighty = 1.0;
-			gbc.fill = GridBagConstraints.VERTICAL;
-			add(slideBorder, gbc);
-			gbc.weightx = 1.0;
-			gbc.weighty = 1.0;
-			gbc.fill = GridBagConstraints.BOTH;
-			gbc.gridx++;
-			add(panel, gbc);
+			add(slideBorder, BorderLayout.WEST);
 		}
 		else {
-			gbc.weightx = 1.0;
-			gbc.weighty = 1.0;
-			gbc.fill = GridBagConstraints.BOTH;
-			add(panel, gbc);
-			gbc.weightx = 0.0;
-			gbc.weighty = 1.0;
-			gbc.fill = GridBagConstraints.VERTICAL;
-			gbc.gridx++;
-			add(slideBorder, gbc);
+			add(slideBorder, BorderLayout.EAST);
 		}
+		add(panel, BorderLayout.CENTER);
 
 		slideBorder.addMouseMotionListener(this);
 	}
@@ -94,6 +74,13 @@ public class DockedUnpinnedPanel extends JPanel implements ComponentListener, Mo
 	public void setVisible(boolean visible) {
 		super.setVisible(visible);
 
+		if (visible) {
+			openPanels.add(this);
+		}
+		else {
+			openPanels.remove(this);
+		}
+
 		setLocationAndSize(0);
 
 		if (!configured) {
@@ -101,6 +88,17 @@ public class DockedUnpinnedPanel extends JPanel implements ComponentListener, Mo
 		}
 	}
 
+	public static Set<DockedUnpinnedPanel> getOpenPanels() {
+		return openPanels;
+	}
+
+	@Override
+	public void removeNotify() {
+		openPanels.remove(this);
+
+		super.removeNotify();
+	}
+
 	private void setLocationAndSize(int widthDifference) {
 		Point toolbarLocation = toolbar.getLocation();
 		SwingUtilities.convertPointToScreen(toolbarLocation, toolbar.getParent());
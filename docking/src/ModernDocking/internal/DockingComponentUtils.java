@@ -22,6 +22,7 @@ SOFTWARE.
 package ModernDocking.internal;
 
 import ModernDocking.Dockable;
+import ModernDocking.DockableStatus;
 import ModernDocking.Docking;
 import ModernDocking.RootDockingPanel;
 import ModernDocking.exception.DockableRegistrationFailureException;
@@ -29,6 +30,7 @@ import ModernDocking.persist.AppState;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
 import java.util.Optional;
 
 import static ModernDocking.internal.DockingInternal.getWrapper;
@@ -50,14 +52,7 @@ public class DockingComponentUtils {
 
 	// search for a root panel on the screen at a specific position
 	public static Window findRootAtScreenPos(Point screenPos) {
-		for (Window window : Docking.getInstance().getRootPanels().keySet()) {
-			Rectangle bounds = new Rectangle(window.getX(), window.getY(), window.getWidth(), window.getHeight());
-
-			if (bounds.contains(screenPos) && window.isVisible()) {
-				return window;
-			}
-		}
-		return null;
+		return WindowZOrder.findWindowAt(screenPos);
 	}
 
 	// find the frame that a dockable is in
@@ -217,50 +212,14 @@ public class DockingComponentUtils {
 		}
 	}
 
+	// find the first docked dockable of the type, preferring the main window. uses the type index instead of searching the windows
 	public static Optional<Dockable> findFirstDockableOfType(int type) {
-		RootDockingPanel mainRoot = rootForWindow(Docking.getInstance().getMainWindow());
-
-		Optional<Dockable> mainPanelDockable = findDockableOfType(type, mainRoot.getPanel());
+		List<Dockable> mainWindowDockables = DockingInternal.findDockables(type, Docking.getInstance().getMainWindow(), DockableStatus.DOCKED);
 
-		if (mainPanelDockable.isPresent()) {
-			return mainPanelDockable;
+		if (!mainWindowDockables.isEmpty()) {
+			return Optional.of(mainWindowDockables.get(0));
 		}
 
-		for (RootDockingPanel panel : Docking.getInstance().getRootPanels().values()) {
-			Optional<Dockable> dockable = findDockableOfType(type, panel);
-
-			if (dockable.isPresent()) {
-				return dockable;
-			}
-		}
-
-		return Optional.empty();
-	}
-
-	private static Optional<Dockable> findDockableOfType(int type, Container container) {
-		if (container == null) {
-			return Optional.empty();
-		}
-
-		for (Component component : container.getComponents()) {
-			if (component instanceof DisplayPanel) {
-				DisplayPanel panel = (DisplayPanel) component;
-
-				DockableWrapper wrapper = panel.getWrapper();
-				Dockable dockable = wrapper.getDockable();
-
-				if (dockable.getType() == type) {
-					return Optional.of(dockable);
-				}
-			}
-			else if (component instanceof Container) {
-				Optional<Dockable> dockableOfType = findDockableOfType(type, (Container) component);
-
-				if (dockableOfType.isPresent()) {
-					return dockableOfType;
-				}
-			}
-		}
-		return Optional.empty();
+		return DockingInternal.findDockables(type, null, DockableStatus.DOCKED).stream().findFirst();
 	}
 }
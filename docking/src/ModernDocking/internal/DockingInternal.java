@@ -22,18 +22,42 @@ SOFTWARE.
 package ModernDocking.internal;
 
 import ModernDocking.Dockable;
+import ModernDocking.DockableFactory;
+import ModernDocking.DockableStatus;
 import ModernDocking.Docking;
 import ModernDocking.exception.DockableRegistrationFailureException;
 
 import java.awt.*;
-import java.util.HashMap;
+import java.util.*;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.regex.Pattern;
 
 public class DockingInternal {
 	private static final Map<String, DockableWrapper> dockables = new HashMap<>();
 
+	// factories for creating dockables on demand, by exact persistent ID
+	private static final Map<String, DockableFactory> factories = new HashMap<>();
+
+	// factories for creating dockables on demand, by persistent ID pattern. checked in the order they were registered
+	private static final Map<String, PatternFactory> patternFactories = new LinkedHashMap<>();
+
+	private static class PatternFactory {
+		private final Pattern pattern;
+		private final DockableFactory factory;
+
+		private PatternFactory(Pattern pattern, DockableFactory factory) {
+			this.pattern = pattern;
+			this.factory = factory;
+		}
+	}
+
+	// docked and unpinned dockables by type, then by window. kept up to date by the wrappers as they move
+	private static final Map<Integer, Map<Window, Set<DockableWrapper>>> typeIndex = new HashMap<>();
+
+	// where each wrapper currently is in the type index
+	private static final Map<DockableWrapper, Window> indexedWindows = new HashMap<>();
+	private static final Map<DockableWrapper, Integer> indexedTypes = new HashMap<>();
+
 	// register a dockable with the framework
 	public static void registerDockable(Dockable dockable) {
 		if (dockables.containsKey(dockable.getPersistentID())) {
@@ -47,10 +71,190 @@ public class DockingInternal {
 
 	// Dockables must be deregistered so it can be properly disposed
 	public static void deregisterDockable(Dockable dockable) {
-		getWrapper(dockable).removedListeners();
+		getWrapper(dockable).releaseUI();
+		removeFromTypeIndex(getWrapper(dockable));
 		dockables.remove(dockable.getPersistentID());
 	}
 
+	// the wrapper has moved, update its place in the type index
+	static void updateTypeIndex(DockableWrapper wrapper) {
+		Window window = wrapper.getWindow();
+		boolean indexed = window != null && (wrapper.getParent() != null || wrapper.isUnpinned());
+
+		Window indexedWindow = indexedWindows.get(wrapper);
+
+		if (indexed && indexedWindow == window) {
+			return;
+		}
+
+		removeFromTypeIndex(wrapper);
+
+		if (indexed) {
+			int type = wrapper.getDockable().getType();
+
+			typeIndex.computeIfAbsent(type, t -> new LinkedHashMap<>())
+					.computeIfAbsent(window, w -> new LinkedHashSet<>())
+					.add(wrapper);
+
+			indexedWindows.put(wrapper, window);
+			indexedTypes.put(wrapper, type);
+		}
+	}
+
+	private static void removeFromTypeIndex(DockableWrapper wrapper) {
+		Window window = indexedWindows.remove(wrapper);
+		Integer type = indexedTypes.remove(wrapper);
+
+		if (window == null) {
+			return;
+		}
+
+		Map<Window, Set<DockableWrapper>> windows = typeIndex.get(type);
+		Set<DockableWrapper> wrappers = windows.get(window);
+
+		wrappers.remove(wrapper);
+
+		if (wrappers.isEmpty()) {
+			windows.remove(window);
+		}
+		if (windows.isEmpty()) {
+			typeIndex.remove(type);
+		}
+	}
+
+	// find the dockables of a type without searching the docking windows. window and status can be null to match any
+	public static List<Dockable> findDockables(int type, Window window, DockableStatus status) {
+		Map<Window, Set<DockableWrapper>> windows = typeIndex.get(type);
+
+		if (windows == null) {
+			return Collections.emptyList();
+		}
+
+		List<Dockable> result = new ArrayList<>();
+
+		if (window != null) {
+			addMatching(windows.get(window), status, result);
+		}
+		else {
+			for (Set<DockableWrapper> wrappers : windows.values()) {
+				addMatching(wrappers, status, result);
+			}
+		}
+		return result;
+	}
+
+	private static void addMatching(Set<DockableWrapper> wrappers, DockableStatus status, List<Dockable> result) {
+		if (wrappers == null) {
+			return;
+		}
+
+		for (DockableWrapper wrapper : wrappers) {
+			if (status == null || statusMatches(wrapper, status)) {
+				result.add(wrapper.getDockable());
+			}
+		}
+	}
+
+	private static boolean statusMatches(DockableWrapper wrapper, DockableStatus status) {
+		switch (status) {
+			case DOCKED:
+				return wrapper.getParent() != null && !wrapper.isUnpinned();
+			case UNPINNED:
+				return wrapper.isUnpinned();
+			case MAXIMIZED:
+				return wrapper.isMaximized();
+		}
+		return false;
+	}
+
+	public static boolean hasDockable(String persistentID) {
+		return dockables.containsKey(persistentID);
+	}
+
+	// register a factory for an exact persistent ID, or for a pattern if the ID contains * (any characters) or ? (any single character)
+	public static void registerDockableFactory(String persistentID, DockableFactory factory) {
+		if (persistentID.contains("*") || persistentID.contains("?")) {
+			patternFactories.put(persistentID, new PatternFactory(globToPattern(persistentID), factory));
+		}
+		else {
+			factories.put(persistentID, factory);
+		}
+	}
+
+	public static void deregisterDockableFactory(String persistentID) {
+		factories.remove(persistentID);
+		patternFactories.remove(persistentID);
+	}
+
+	// get the dockable, creating it with a factory if it hasn't been registered. returns null if there is no factory or the factory failed
+	public static Dockable getOrCreateDockable(String persistentID) {
+		DockableWrapper wrapper = dockables.get(persistentID);
+
+		if (wrapper != null) {
+			return wrapper.getDockable();
+		}
+
+		DockableFactory factory = findFactory(persistentID);
+
+		if (factory == null) {
+			return null;
+		}
+
+		Dockable dockable = factory.create(persistentID);
+
+		if (dockable == null) {
+			return null;
+		}
+
+		if (!persistentID.equals(dockable.getPersistentID())) {
+			throw new DockableRegistrationFailureException("Dockable factory for " + persistentID + " created a dockable with persistent ID " + dockable.getPersistentID());
+		}
+
+		// the dockable might have registered itself when it was constructed
+		if (!dockables.containsKey(persistentID)) {
+			registerDockable(dockable);
+		}
+		return dockable;
+	}
+
+	private static DockableFactory findFactory(String persistentID) {
+		DockableFactory factory = factories.get(persistentID);
+
+		if (factory != null) {
+			return factory;
+		}
+
+		for (PatternFactory patternFactory : patternFactories.values()) {
+			if (patternFactory.pattern.matcher(persistentID).matches()) {
+				return patternFactory.factory;
+			}
+		}
+		return null;
+	}
+
+	private static Pattern globToPattern(String glob) {
+		StringBuilder regex = new StringBuilder();
+		StringBuilder literal = new StringBuilder();
+
+		for (char c : glob.toCharArray()) {
+			if (c == '*' || c == '?') {
+				if (literal.length() > 0) {
+					regex.append(Pattern.quote(literal.toString()));
+					literal.setLength(0);
+				}
+				regex.append(c == '*' ? ".*" : ".");
+			}
+			else {
+				literal.append(c);
+			}
+		}
+
+		if (literal.length() > 0) {
+			regex.append(Pattern.quote(literal.toString()));
+		}
+		return Pattern.compile(regex.toString());
+	}
+
 	// internal function to get the dockable wrapper
 	public static DockableWrapper getWrapper(Dockable dockable) {
 		if (dockables.containsKey(dockable.getPersistentID())) {
@@ -66,17 +270,6 @@ public class DockingInternal {
 		throw new DockableRegistrationFailureException("Dockable with Persistent ID " + persistentID + " has not been registered.");
 	}
 
-	public static void fireDockedEventForFrame(Window window) {
-		// everything has been restored, go through the list of dockables and fire docked events for the ones that are docked
-		List<DockableWrapper> wrappers = dockables.values().stream()
-				.filter(wrapper -> wrapper.getWindow() == window)
-				.collect(Collectors.toList());
-
-		for (DockableWrapper wrapper : wrappers) {
-			DockingListeners.fireDockedEvent(wrapper.getDockable());
-		}
-	}
-
 	public static void fireDockedEventForAll() {
 		// everything has been restored, go through the list of dockables and fire docked events for the ones that are docked
 		for (DockableWrapper wrapper : dockables.values()) {
@@ -0,0 +1,156 @@
+/*
+Copyright (c) 2023 Andrew Auclair
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package ModernDocking.internal;
+
+import ModernDocking.Docking;
+import ModernDocking.RootDockingPanel;
+import ModernDocking.layouts.ApplicationLayout;
+import ModernDocking.layouts.DockingLayouts;
+import ModernDocking.layouts.WindowLayout;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// keeps track of the current layout of every docking window. the docking panels keep their own layout nodes and drop them
+// when they change, so publishing a window only rebuilds the nodes on the path to the change and shares the rest.
+// the application layout is published as a read only snapshot that can be read from any thread without touching Swing
+public class DockingLayoutModel {
+	// current layout of each window. only written on the EDT, can be read from any thread
+	private static final Map<Window, WindowLayout> windowLayouts = new ConcurrentHashMap<>();
+
+	// windows whose layout needs to be published again, only accessed on the EDT
+	private static final Set<Window> changedWindows = new HashSet<>();
+
+	private static final AtomicReference<ApplicationLayout> snapshot = new AtomicReference<>(emptyLayout());
+
+	// incremented every time the layout or geometry of any window changes
+	private static final AtomicLong version = new AtomicLong();
+
+	private static boolean publishQueued = false;
+
+	// a docking panel, toolbar or the window itself has changed
+	public static void windowChanged(Window window) {
+		if (window == null) {
+			return;
+		}
+
+		version.incrementAndGet();
+		changedWindows.add(window);
+
+		// publish the new layout once the current round of changes is done. this only creates nodes for the panels that
+		// changed, and background readers need the snapshot to be current without waiting for a read on the EDT
+		if (!publishQueued) {
+			publishQueued = true;
+
+			SwingUtilities.invokeLater(() -> {
+				publishQueued = false;
+				update();
+			});
+		}
+	}
+
+	// the window is no longer a docking window
+	public static void windowRemoved(Window window) {
+		windowLayouts.remove(window);
+		windowChanged(window);
+	}
+
+	public static long getVersion() {
+		return version.get();
+	}
+
+	// get the current layout of the window, null if the window has no layout. on the EDT this is always up-to-date,
+	// from any other thread this is the last published layout
+	public static WindowLayout getWindowLayout(Window window) {
+		if (SwingUtilities.isEventDispatchThread()) {
+			update();
+		}
+		return windowLayouts.get(window);
+	}
+
+	// get the current application layout. on the EDT this is always up-to-date,
+	// from any other thread this is the last published snapshot
+	public static ApplicationLayout getApplicationLayout() {
+		if (SwingUtilities.isEventDispatchThread()) {
+			update();
+		}
+		return snapshot.get();
+	}
+
+	// publish new layouts for the windows that have changed. the docking panels only create nodes for what has changed
+	private static void update() {
+		if (changedWindows.isEmpty() || Docking.getInstance() == null) {
+			return;
+		}
+
+		Map<Window, RootDockingPanel> roots = Docking.getInstance().getRootPanels();
+
+		for (Window window : changedWindows) {
+			RootDockingPanel root = roots.get(window);
+
+			if (root == null) {
+				windowLayouts.remove(window);
+			}
+			else {
+				WindowLayout windowLayout = DockingLayouts.layoutFromRoot(root);
+				windowLayout.makeReadOnly();
+
+				windowLayouts.put(window, windowLayout);
+			}
+		}
+		changedWindows.clear();
+
+		Window mainWindow = Docking.getInstance().getMainWindow();
+
+		ApplicationLayout layout = new ApplicationLayout();
+		layout.setMainFrame(windowLayouts.get(mainWindow));
+
+		for (Window window : roots.keySet()) {
+			if (window != mainWindow && windowLayouts.containsKey(window)) {
+				layout.addFrame(windowLayouts.get(window));
+			}
+		}
+
+		layout.makeReadOnly();
+
+		snapshot.set(layout);
+	}
+
+	private static ApplicationLayout emptyLayout() {
+		ApplicationLayout layout = new ApplicationLayout();
+		layout.makeReadOnly();
+		return layout;
+	}
+
+	public static void reset() {
+		windowLayouts.clear();
+		changedWindows.clear();
+		snapshot.set(emptyLayout());
+		version.incrementAndGet();
+	}
+}
@@ -22,57 +22,153 @@ SOFTWARE.
 package ModernDocking.internal;
 
 import ModernDocking.Dockable;
+import ModernDocking.event.DockingEvent;
+import ModernDocking.event.DockingEventBus;
 import ModernDocking.event.DockingListener;
 import ModernDocking.event.MaximizeListener;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public class DockingListeners {
-	private static final List<MaximizeListener> maximizeListeners = new ArrayList<>();
-	private static final List<DockingListener> dockingListeners = new ArrayList<>();
+	// listeners are stored copy on write so that they can add or remove listeners while an event is being fired
+	private static final CopyOnWriteArrayList<MaximizeListener> maximizeListeners = new CopyOnWriteArrayList<>();
+	private static final CopyOnWriteArrayList<DockingListener> dockingListeners = new CopyOnWriteArrayList<>();
 
-	public static void addMaximizeListener(MaximizeListener listener) {
-		if (!maximizeListeners.contains(listener)) {
-			maximizeListeners.add(listener);
+	// listeners that only want the events of a single dockable, by persistent ID
+	private static final Map<String, CopyOnWriteArrayList<MaximizeListener>> dockableMaximizeListeners = new HashMap<>();
+	private static final Map<String, CopyOnWriteArrayList<DockingListener>> dockableDockingListeners = new HashMap<>();
+
+	// events are held here while a Docking.batch is running and delivered once the batch commits.
+	// docked, undocked and auto undocked share a key for each dockable so that only the event for its final state is
+	// delivered. unpinned and maximize events have their own keys, only their last occurrence is delivered
+	private static final Map<String, Runnable> deferredEvents = new LinkedHashMap<>();
+	private static boolean deferEvents = false;
+
+	public static void setDeferEvents(boolean defer) {
+		deferEvents = defer;
+	}
+
+	// deliver all the events that were held during a batch, in the order they last occurred
+	public static void fireDeferredEvents() {
+		List<Runnable> events = new ArrayList<>(deferredEvents.values());
+		deferredEvents.clear();
+
+		events.forEach(Runnable::run);
+	}
+
+	// throw away any held events, used when a batch is rolled back
+	public static void clearDeferredEvents() {
+		deferredEvents.clear();
+	}
+
+	private static void fireEvent(String key, Runnable event) {
+		if (deferEvents) {
+			// move the event to the end, it's the latest occurrence
+			deferredEvents.remove(key);
+			deferredEvents.put(key, event);
+		}
+		else {
+			event.run();
 		}
 	}
 
+	public static void addMaximizeListener(MaximizeListener listener) {
+		maximizeListeners.addIfAbsent(listener);
+	}
+
 	public static void removeMaximizeListener(MaximizeListener listener) {
 		maximizeListeners.remove(listener);
 	}
 
+	// listen for maximize events of a single dockable
+	public static void addMaximizeListener(String persistentID, MaximizeListener listener) {
+		addListener(dockableMaximizeListeners, persistentID, listener);
+	}
+
+	public static void removeMaximizeListener(String persistentID, MaximizeListener listener) {
+		removeListener(dockableMaximizeListeners, persistentID, listener);
+	}
+
 	// package private function to fire an event
 	public static void fireMaximizeEvent(Dockable dockable, boolean maximized) {
-		maximizeListeners.forEach(listener -> listener.maximized(dockable, maximized));
+		fireEvent("maximized:" + dockable.getPersistentID(), () -> {
+			maximizeListeners.forEach(listener -> listener.maximized(dockable, maximized));
+			listenersFor(dockableMaximizeListeners, dockable).forEach(listener -> listener.maximized(dockable, maximized));
+
+			DockingEventBus.publish(new DockingEvent(maximized ? DockingEvent.Type.MAXIMIZED : DockingEvent.Type.MINIMIZED, dockable.getPersistentID()));
+		});
 	}
 
 	public static void addDockingListener(DockingListener listener) {
-		if (!dockingListeners.contains(listener)) {
-			dockingListeners.add(listener);
-		}
+		dockingListeners.addIfAbsent(listener);
 	}
 
 	public static void removeDockingListener(DockingListener listener) {
 		dockingListeners.remove(listener);
 	}
 
+	// listen for docking events of a single dockable
+	public static void addDockingListener(String persistentID, DockingListener listener) {
+		addListener(dockableDockingListeners, persistentID, listener);
+	}
+
+	public static void removeDockingListener(String persistentID, DockingListener listener) {
+		removeListener(dockableDockingListeners, persistentID, listener);
+	}
+
 	// package private function to fire docked event
 	public static void fireDockedEvent(Dockable dockable) {
-		dockingListeners.forEach(listener -> listener.docked(dockable.getPersistentID()));
+		fireEvent("docking:" + dockable.getPersistentID(), () -> fireDockingEvent(dockable, DockingEvent.Type.DOCKED, listener -> listener.docked(dockable.getPersistentID())));
 	}
 
 	// package private function to fire undocked event
 	public static void fireUndockedEvent(Dockable dockable) {
-		dockingListeners.forEach(listener -> listener.undocked(dockable.getPersistentID()));
+		fireEvent("docking:" + dockable.getPersistentID(), () -> fireDockingEvent(dockable, DockingEvent.Type.UNDOCKED, listener -> listener.undocked(dockable.getPersistentID())));
 	}
 
 	// package private function to fire auto undocked event
 	public static void fireAutoUndockedEvent(Dockable dockable) {
-		dockingListeners.forEach(listener -> listener.autoUndocked(dockable.getPersistentID()));
+		fireEvent("docking:" + dockable.getPersistentID(), () -> fireDockingEvent(dockable, DockingEvent.Type.AUTO_UNDOCKED, listener -> listener.autoUndocked(dockable.getPersistentID())));
 	}
 
 	public static void fireUnpinnedEvent(Dockable dockable) {
-		dockingListeners.forEach(listener -> listener.unpinned(dockable.getPersistentID()));
+		fireEvent("unpinned:" + dockable.getPersistentID(), () -> fireDockingEvent(dockable, DockingEvent.Type.UNPINNED, listener -> listener.unpinned(dockable.getPersistentID())));
+	}
+
+	// there's no listener interface for this event, it's only published to the event bus
+	public static void fireLayoutRestoredEvent() {
+		fireEvent("layoutRestored", () -> DockingEventBus.publish(new DockingEvent(DockingEvent.Type.LAYOUT_RESTORED, null)));
+	}
+
+	// deliver the event to the global listeners, then to the listeners of the dockable and then to the event bus
+	private static void fireDockingEvent(Dockable dockable, DockingEvent.Type type, Consumer<DockingListener> event) {
+		dockingListeners.forEach(event);
+		listenersFor(dockableDockingListeners, dockable).forEach(event);
+
+		DockingEventBus.publish(new DockingEvent(type, dockable.getPersistentID()));
+	}
+
+	private static <T> void addListener(Map<String, CopyOnWriteArrayList<T>> listeners, String persistentID, T listener) {
+		listeners.computeIfAbsent(persistentID, id -> new CopyOnWriteArrayList<>()).addIfAbsent(listener);
+	}
+
+	private static <T> void removeListener(Map<String, CopyOnWriteArrayList<T>> listeners, String persistentID, T listener) {
+		List<T> list = listeners.get(persistentID);
+
+		if (list != null) {
+			list.remove(listener);
+
+			if (list.isEmpty()) {
+				listeners.remove(persistentID);
+			}
+		}
+	}
+
+	private static <T> List<T> listenersFor(Map<String, CopyOnWriteArrayList<T>> listeners, Dockable dockable) {
+		List<T> list = listeners.get(dockable.getPersistentID());
+
+		return list != null ? list : Collections.emptyList();
 	}
 }
@@ -23,11 +23,16 @@ package ModernDocking.internal;
 
 import ModernDocking.Dockable;
 import ModernDocking.DockingRegion;
+import ModernDocking.layouts.DockingLayoutNode;
 
 import javax.swing.*;
 
 // Docking panel with docking regions of: north, south, east, west and center
 public abstract class DockingPanel extends JPanel {
+	// read only layout node of this panel. it's kept until this panel or one of the panels inside it changes, so only the
+	// nodes on the path to a change are rebuilt and the rest are shared with the previous layout. only accessed on the EDT
+	private DockingLayoutNode layoutNode = null;
+
 	public abstract void setParent(DockingPanel parent);
 
 	public abstract void dock(Dockable dockable, DockingRegion region, double dividerProportion);
@@ -38,4 +43,42 @@ public abstract class DockingPanel extends JPanel {
 	public abstract void replaceChild(DockingPanel child, DockingPanel newChild);
 
 	public abstract void removeChild(DockingPanel child);
+
+	// the tab text or icon of a dockable in this panel has changed. only tabbed panels show them
+	public void updateTabInfo(Dockable dockable) {
+	}
+
+	// the properties of a dockable in this panel have changed. they're part of the layout node
+	public void propertiesChanged(Dockable dockable) {
+		layoutChanged();
+	}
+
+	// get the layout node for this panel and everything inside it
+	public DockingLayoutNode getLayoutNode() {
+		if (layoutNode == null) {
+			layoutNode = createLayoutNode();
+			layoutNode.makeReadOnly();
+		}
+		return layoutNode;
+	}
+
+	// create a new layout node for this panel. child panels should use the nodes from their getLayoutNode
+	protected abstract DockingLayoutNode createLayoutNode();
+
+	// let the layout model know that the layout of this panel has changed. the nodes of this panel and the panels containing
+	// it are rebuilt the next time the layout is published. panels that aren't in a window yet only drop their own node,
+	// they're picked up when they're added to a window because setting the child of a root or split reports the change
+	protected void layoutChanged() {
+		layoutNode = null;
+
+		DockingPanel ancestor = (DockingPanel) SwingUtilities.getAncestorOfClass(DockingPanel.class, this);
+
+		// once we reach a panel without a node, every panel above it has already dropped its node
+		while (ancestor != null && ancestor.layoutNode != null) {
+			ancestor.layoutNode = null;
+			ancestor = (DockingPanel) SwingUtilities.getAncestorOfClass(DockingPanel.class, ancestor);
+		}
+
+		DockingLayoutModel.windowChanged(SwingUtilities.getWindowAncestor(this));
+	}
 }
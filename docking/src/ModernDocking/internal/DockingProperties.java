@@ -70,6 +70,13 @@ public class DockingProperties {
 	private final Map<String, Color> currentColors = new HashMap<>(lightColors);
 	private int overlayAlpha = lightOverlayAlpha;
 
+	// overlay colors with the overlay alpha applied, calculated when the properties are updated
+	private Color dockingOverlay;
+	private Color dockingOverlayBorder;
+
+	// incremented every time the properties are updated. lets anything that caches the colors know when to update
+	private int version = 0;
+
 	private boolean titlebarBorderEnabled = true;
 	private int titlebarBorderSize = 1;
 
@@ -129,6 +136,19 @@ public class DockingProperties {
 		else {
 			titlebarBorderSize = defaultTitlebarBorderSize;
 		}
+
+		dockingOverlay = withOverlayAlpha(currentColors.get(overlayBackgroundColorKey));
+		dockingOverlayBorder = withOverlayAlpha(currentColors.get(overlayBorderColorKey));
+
+		version++;
+	}
+
+	private Color withOverlayAlpha(Color color) {
+		return new Color(color.getRed() / 255.0f, color.getGreen() / 255.0f, color.getBlue() / 255.0f, overlayAlpha / 255.0f);
+	}
+
+	public static int getVersion() {
+		return properties.version;
 	}
 
 	public static Color getHandlesBackground() {
@@ -148,13 +168,11 @@ public class DockingProperties {
 	}
 
 	public static Color getDockingOverlay() {
-		Color color = properties.currentColors.get(overlayBackgroundColorKey);
-		return new Color(color.getRed() / 255.0f, color.getGreen() / 255.0f, color.getBlue() / 255.0f, properties.overlayAlpha / 255.0f);
+		return properties.dockingOverlay;
 	}
 
 	public static Color getDockingOverlayBorder() {
-		Color color = properties.currentColors.get(overlayBorderColorKey);
-		return new Color(color.getRed() / 255.0f, color.getGreen() / 255.0f, color.getBlue() / 255.0f, properties.overlayAlpha / 255.0f);
+		return properties.dockingOverlayBorder;
 	}
 
 	public static boolean isTitlebarBorderEnabled() {
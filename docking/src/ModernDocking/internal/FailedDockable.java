@@ -52,7 +52,7 @@ public class FailedDockable extends JPanel implements Dockable {
 
 	@Override
 	public String getTabText() {
-		return null;
+		return "";
 	}
 
 	@Override
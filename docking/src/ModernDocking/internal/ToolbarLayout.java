@@ -0,0 +1,107 @@
+/*
+Copyright (c) 2023 Andrew Auclair
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package ModernDocking.internal;
+
+import java.awt.*;
+
+// lays out the buttons of a DockableToolbar in a single row or column at their preferred sizes, starting from the top or left.
+// buttons are centered across the strip, which is as wide (or tall) as the largest button
+public class ToolbarLayout implements LayoutManager {
+	private final boolean vertical;
+
+	public ToolbarLayout(boolean vertical) {
+		this.vertical = vertical;
+	}
+
+	@Override
+	public void addLayoutComponent(String name, Component comp) {
+	}
+
+	@Override
+	public void removeLayoutComponent(Component comp) {
+	}
+
+	@Override
+	public Dimension preferredLayoutSize(Container parent) {
+		return layoutSize(parent, false);
+	}
+
+	@Override
+	public Dimension minimumLayoutSize(Container parent) {
+		return layoutSize(parent, true);
+	}
+
+	private Dimension layoutSize(Container parent, boolean minimum) {
+		int along = 0;
+		int across = 0;
+
+		for (int i = 0; i < parent.getComponentCount(); i++) {
+			Component component = parent.getComponent(i);
+
+			if (!component.isVisible()) {
+				continue;
+			}
+
+			// the toolbar can shrink along its length, buttons that don't fit are cut off
+			Dimension size = component.getPreferredSize();
+
+			if (!minimum) {
+				along += vertical ? size.height : size.width;
+			}
+			across = Math.max(across, vertical ? size.width : size.height);
+		}
+
+		Insets insets = parent.getInsets();
+
+		if (vertical) {
+			return new Dimension(across + insets.left + insets.right, along + insets.top + insets.bottom);
+		}
+		return new Dimension(along + insets.left + insets.right, across + insets.top + insets.bottom);
+	}
+
+	@Override
+	public void layoutContainer(Container parent) {
+		Insets insets = parent.getInsets();
+
+		int across = vertical ? parent.getWidth() - insets.left - insets.right : parent.getHeight() - insets.top - insets.bottom;
+		int position = vertical ? insets.top : insets.left;
+
+		for (int i = 0; i < parent.getComponentCount(); i++) {
+			Component component = parent.getComponent(i);
+
+			if (!component.isVisible()) {
+				continue;
+			}
+
+			Dimension size = component.getPreferredSize();
+
+			if (vertical) {
+				component.setBounds(insets.left + (across - size.width) / 2, position, size.width, size.height);
+				position += size.height;
+			}
+			else {
+				component.setBounds(position, insets.top + (across - size.height) / 2, size.width, size.height);
+				position += size.width;
+			}
+		}
+	}
+}
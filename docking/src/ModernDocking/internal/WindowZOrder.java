@@ -0,0 +1,147 @@
+/*
+Copyright (c) 2023 Andrew Auclair
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package ModernDocking.internal;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// keeps the docking windows in Z order, top first, along with their bounds on screen. the order is updated when a window
+// is activated or gains focus and the bounds are updated when a window moves or resizes. finding the window at a point is
+// then a short scan that doesn't need to query any window or reorder any windows
+public class WindowZOrder {
+	// docking windows, the top window first. only accessed on the EDT
+	private static final List<Window> windows = new ArrayList<>();
+
+	// last known bounds of each window on screen
+	private static final Map<Window, Rectangle> bounds = new HashMap<>();
+
+	// incremented every time the order changes
+	private static long version = 0;
+
+	private static final WindowTracker tracker = new WindowTracker();
+
+	private static class WindowTracker extends WindowAdapter implements ComponentListener {
+		@Override
+		public void windowActivated(WindowEvent e) {
+			moveToFront(e.getWindow());
+		}
+
+		@Override
+		public void windowGainedFocus(WindowEvent e) {
+			moveToFront(e.getWindow());
+		}
+
+		@Override
+		public void componentResized(ComponentEvent e) {
+			updateBounds((Window) e.getComponent());
+		}
+
+		@Override
+		public void componentMoved(ComponentEvent e) {
+			updateBounds((Window) e.getComponent());
+		}
+
+		@Override
+		public void componentShown(ComponentEvent e) {
+			// windows are on top when they're shown
+			moveToFront((Window) e.getComponent());
+			updateBounds((Window) e.getComponent());
+		}
+
+		@Override
+		public void componentHidden(ComponentEvent e) {
+		}
+	}
+
+	// start tracking a docking window. new windows are assumed to be on top
+	public static void register(Window window) {
+		if (bounds.containsKey(window)) {
+			return;
+		}
+
+		windows.add(0, window);
+		bounds.put(window, window.getBounds());
+		version++;
+
+		window.addWindowListener(tracker);
+		window.addWindowFocusListener(tracker);
+		window.addComponentListener(tracker);
+	}
+
+	public static void deregister(Window window) {
+		if (bounds.remove(window) == null) {
+			return;
+		}
+
+		windows.remove(window);
+		version++;
+
+		window.removeWindowListener(tracker);
+		window.removeWindowFocusListener(tracker);
+		window.removeComponentListener(tracker);
+	}
+
+	// find the top visible docking window that contains the screen position
+	public static Window findWindowAt(Point screenPos) {
+		for (Window window : windows) {
+			if (window.isVisible() && bounds.get(window).contains(screenPos)) {
+				return window;
+			}
+		}
+		return null;
+	}
+
+	// all the docking windows, top first
+	public static List<Window> getWindows() {
+		return new ArrayList<>(windows);
+	}
+
+	public static long getVersion() {
+		return version;
+	}
+
+	public static void reset() {
+		for (Window window : new ArrayList<>(windows)) {
+			deregister(window);
+		}
+	}
+
+	private static void moveToFront(Window window) {
+		int index = windows.indexOf(window);
+
+		if (index > 0) {
+			windows.remove(index);
+			windows.add(0, window);
+			version++;
+		}
+	}
+
+	private static void updateBounds(Window window) {
+		if (bounds.containsKey(window)) {
+			bounds.put(window, window.getBounds());
+		}
+	}
+}
@@ -38,6 +38,7 @@ public class ApplicationLayout {
 	}
 
 	private final List<FrameLayout> layouts = new ArrayList<>();
+	private boolean readOnly = false;
 
 	public ApplicationLayout() {
 	}
@@ -46,7 +47,26 @@ public class ApplicationLayout {
 		layouts.add(new FrameLayout(mainFrame, true));
 	}
 
+	// make this layout and all of its window layouts read only so that it can be shared between threads
+	public void makeReadOnly() {
+		readOnly = true;
+
+		for (FrameLayout frameLayout : layouts) {
+			if (frameLayout.layout != null) {
+				frameLayout.layout.makeReadOnly();
+			}
+		}
+	}
+
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
 	public void setMainFrame(WindowLayout layout) {
+		if (readOnly) {
+			throw new UnsupportedOperationException("Application layout is read only");
+		}
+
 		for (FrameLayout frameLayout : layouts) {
 			if (frameLayout.isMainFrame) {
 				layouts.remove(frameLayout);
@@ -57,6 +77,10 @@ public class ApplicationLayout {
 	}
 
 	public void addFrame(WindowLayout layout) {
+		if (readOnly) {
+			throw new UnsupportedOperationException("Application layout is read only");
+		}
+
 		layouts.add(new FrameLayout(layout, layout.isMainFrame()));
 	}
 
@@ -22,36 +22,64 @@ SOFTWARE.
 package ModernDocking.layouts;
 
 import javax.xml.stream.*;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
 public class ApplicationLayoutXML {
 	private static final String NL = "\n";
 
-	// saves a docking layout to the given file, returns true if successful, false otherwise
+	// saves a docking layout to the given file, returns true if successful, false otherwise.
+	// the layout is written to a temporary file first and then moved over the top of the file,
+	// that way the file is never left half written if the application dies while saving
 	public static boolean saveLayoutToFile(File file, ApplicationLayout layout) {
+		File directory = file.getAbsoluteFile().getParentFile();
+		directory.mkdirs();
+
+		Path tempFile;
 		try {
-			file.createNewFile();
+			tempFile = Files.createTempFile(directory.toPath(), file.getName(), ".tmp");
 		}
 		catch (IOException e) {
 			e.printStackTrace();
 			return false;
 		}
-		if (file.getParentFile() != null) {
-			file.getParentFile().mkdirs();
-		}
 
-		XMLOutputFactory factory = XMLOutputFactory.newInstance();
-		XMLStreamWriter writer;
 		try {
-			writer = factory.createXMLStreamWriter(Files.newOutputStream(file.toPath()));
+			try (FileOutputStream out = new FileOutputStream(tempFile.toFile())) {
+				writeLayout(out, layout);
+
+				// make sure the layout is actually on disk before it replaces the old file
+				out.getFD().sync();
+			}
+
+			try {
+				Files.move(tempFile, file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
 		}
-		catch (Exception e) {
+		catch (IOException | XMLStreamException e) {
 			e.printStackTrace();
 			return false;
 		}
+		finally {
+			try {
+				Files.deleteIfExists(tempFile);
+			}
+			catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		return true;
+	}
+
+	private static void writeLayout(OutputStream out, ApplicationLayout layout) throws XMLStreamException {
+		XMLOutputFactory factory = XMLOutputFactory.newInstance();
+		XMLStreamWriter writer = factory.createXMLStreamWriter(out);
 
 		try {
 			writer.writeStartDocument();
@@ -68,30 +96,33 @@ public class ApplicationLayoutXML {
 			writer.writeEndElement();
 
 			writer.writeEndDocument();
-		}
-		catch (XMLStreamException e) {
-			e.printStackTrace();
-			return false;
+
+			writer.flush();
 		}
 		finally {
-			try {
-				writer.close();
-			}
-			catch (XMLStreamException e) {
-				e.printStackTrace();
-			}
+			// closing the writer does not close the stream, that's up to the caller
+			writer.close();
 		}
-		return true;
 	}
 
 	public static ApplicationLayout loadLayoutFromFile(File file) {
 		XMLInputFactory factory = XMLInputFactory.newInstance();
+		FileInputStream in;
 		XMLStreamReader reader;
 		try {
-			reader = factory.createXMLStreamReader(new FileInputStream(file));
+			in = new FileInputStream(file);
+		}
+		catch (Exception e) {
+			e.printStackTrace();
+			return null;
+		}
+
+		try {
+			reader = factory.createXMLStreamReader(in);
 		}
 		catch (Exception e) {
 			e.printStackTrace();
+			closeQuietly(in);
 			return null;
 		}
 
@@ -120,7 +151,18 @@ public class ApplicationLayoutXML {
 			catch (XMLStreamException e) {
 				e.printStackTrace();
 			}
+			// closing the reader doesn't close the file, leaving it open would prevent it from being replaced on some platforms
+			closeQuietly(in);
 		}
 		return layout;
 	}
+
+	private static void closeQuietly(InputStream in) {
+		try {
+			in.close();
+		}
+		catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
 }
@@ -35,4 +35,8 @@ public interface DockingLayoutNode {
 	DockingLayoutNode getParent();
 
 	void setParent(DockingLayoutNode parent);
+
+	// make this node and its children read only. read only nodes can be shared between layouts, so they don't link to a parent
+	default void makeReadOnly() {
+	}
 }
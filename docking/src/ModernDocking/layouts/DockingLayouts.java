@@ -25,7 +25,6 @@ import ModernDocking.*;
 import ModernDocking.event.LayoutsListener;
 import ModernDocking.internal.*;
 
-import javax.swing.*;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -64,58 +63,18 @@ public class DockingLayouts {
 		return new ArrayList<>(layouts.keySet());
 	}
 
+	// the layout nodes come from the docking panels, which keep them until they change. the nodes are read only
 	public static WindowLayout layoutFromRoot(RootDockingPanel root) {
-		WindowLayout layout = new WindowLayout(DockingComponentUtils.windowForRoot(root), panelToNode(root.getPanel()));
+		WindowLayout layout = new WindowLayout(DockingComponentUtils.windowForRoot(root), root.getLayoutNode());
 
 		layout.setWestUnpinnedToolbarIDs(root.getWestUnpinnedToolbarIDs());
 		layout.setEastUnpinnedToolbarIDs(root.getEastUnpinnedToolbarIDs());
 		layout.setSouthUnpinnedToolbarIDs(root.getSouthUnpinnedToolbarIDs());
 
-		return layout;
-	}
-
-	private static DockingLayoutNode panelToNode(DockingPanel panel) {
-		DockingLayoutNode node;
-
-		if (panel instanceof DockedSimplePanel) {
-			Dockable dockable = ((DockedSimplePanel) panel).getWrapper().getDockable();
-			node = new DockingSimplePanelNode(dockable.getPersistentID(), dockable.getProperties());
-		}
-		else if (panel instanceof DockedSplitPanel) {
-			node = splitPanelToNode((DockedSplitPanel) panel);
-		}
-		else if (panel instanceof DockedTabbedPanel) {
-			node = tabbedPanelToNode((DockedTabbedPanel) panel);
-		}
-		else if (panel == null) {
-			// the main frame root node contains a null panel if there is nothing docked
-			node = new EmptyPanelNode();
+		if (root.isMaximized()) {
+			layout.setMaximizedDockable(root.getMaximizedDockable().getDockable().getPersistentID());
 		}
-		else {
-			throw new RuntimeException("Unknown panel");
-		}
-		return node;
-	}
-
-	private static DockingLayoutNode splitPanelToNode(DockedSplitPanel panel) {
-		JSplitPane splitPane = panel.getSplitPane();
-
-		int orientation = splitPane.getOrientation();
-		int height = splitPane.getHeight();
-		int dividerSize = splitPane.getDividerSize();
-		int dividerLocation = splitPane.getDividerLocation();
-		int width = splitPane.getWidth();
-		double dividerProportion = orientation == JSplitPane.VERTICAL_SPLIT ? dividerLocation / (float) (height - dividerSize) :
-				dividerLocation / (float) (width - dividerSize);
-		return new DockingSplitPanelNode(panelToNode(panel.getLeft()), panelToNode(panel.getRight()), splitPane.getOrientation(), dividerProportion);
-	}
 
-	private static DockingLayoutNode tabbedPanelToNode(DockedTabbedPanel panel) {
-		DockingTabPanelNode node = new DockingTabPanelNode(panel.getSelectedTabID());
-
-		for (String persistentID : panel.persistentIDs()) {
-			node.addTab(persistentID);
-		}
-		return node;
+		return layout;
 	}
 }
@@ -0,0 +1,117 @@
+/*
+Copyright (c) 2023 Andrew Auclair
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package ModernDocking.layouts;
+
+import ModernDocking.DockingRegion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// layout node for any number of panels side by side along a single axis, each with a weight for its share of the space
+public class DockingMultiSplitPanelNode implements DockingLayoutNode {
+	private final List<DockingLayoutNode> children = new ArrayList<>();
+	private final List<Double> weights = new ArrayList<>();
+	private final int orientation;
+
+	private DockingLayoutNode parent;
+	private boolean readOnly = false;
+
+	public DockingMultiSplitPanelNode(int orientation) {
+		this.orientation = orientation;
+	}
+
+	public void addChild(DockingLayoutNode child, double weight) {
+		if (readOnly) {
+			throw new UnsupportedOperationException("Layout node is read only");
+		}
+
+		child.setParent(this);
+
+		children.add(child);
+		weights.add(weight);
+	}
+
+	@Override
+	public DockingLayoutNode getParent() {
+		return parent;
+	}
+
+	@Override
+	public void setParent(DockingLayoutNode parent) {
+		if (!readOnly) {
+			this.parent = parent;
+		}
+	}
+
+	@Override
+	public void makeReadOnly() {
+		readOnly = true;
+		parent = null;
+
+		for (DockingLayoutNode child : children) {
+			child.makeReadOnly();
+		}
+	}
+
+	@Override
+	public DockingLayoutNode findNode(String persistentID) {
+		for (DockingLayoutNode child : children) {
+			DockingLayoutNode node = child.findNode(persistentID);
+
+			if (node != null) {
+				return node;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void dock(String persistentID, DockingRegion region, double dividerProportion) {
+	}
+
+	@Override
+	public void replaceChild(DockingLayoutNode child, DockingLayoutNode newChild) {
+		if (readOnly) {
+			throw new UnsupportedOperationException("Layout node is read only");
+		}
+
+		int index = children.indexOf(child);
+
+		if (index != -1) {
+			children.set(index, newChild);
+			newChild.setParent(this);
+		}
+	}
+
+	public List<DockingLayoutNode> getChildren() {
+		return Collections.unmodifiableList(children);
+	}
+
+	public List<Double> getWeights() {
+		return Collections.unmodifiableList(weights);
+	}
+
+	public int getOrientation() {
+		return orientation;
+	}
+}
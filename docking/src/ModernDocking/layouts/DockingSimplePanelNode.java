@@ -24,6 +24,7 @@ package ModernDocking.layouts;
 import ModernDocking.DockingRegion;
 
 import javax.swing.*;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -31,6 +32,7 @@ public class DockingSimplePanelNode implements DockingLayoutNode {
 	private final String persistentID;
 	private final Map<String, String> properties = new HashMap<>();
 	private DockingLayoutNode parent;
+	private boolean readOnly = false;
 
 	public DockingSimplePanelNode(String persistentID) {
 		this.persistentID = persistentID;
@@ -47,7 +49,20 @@ public class DockingSimplePanelNode implements DockingLayoutNode {
 	}
 
 	public void setParent(DockingLayoutNode parent) {
-		this.parent = parent;
+		if (!readOnly) {
+			this.parent = parent;
+		}
+	}
+
+	@Override
+	public void makeReadOnly() {
+		readOnly = true;
+		parent = null;
+	}
+
+	// tabs aren't shared between layouts, they stay linked to their tab node
+	void readOnlyTab() {
+		readOnly = true;
 	}
 
 	@Override
@@ -60,6 +75,9 @@ public class DockingSimplePanelNode implements DockingLayoutNode {
 
 	@Override
 	public void dock(String persistentID, DockingRegion region, double dividerProportion) {
+		if (readOnly) {
+			throw new UnsupportedOperationException("Layout node is read only");
+		}
 
 		 if (region == DockingRegion.CENTER) {
 			DockingTabPanelNode tab = new DockingTabPanelNode(persistentID);
@@ -109,6 +127,9 @@ public class DockingSimplePanelNode implements DockingLayoutNode {
 	}
 
 	public Map<String, String> getProperties() {
+		if (readOnly) {
+			return Collections.unmodifiableMap(properties);
+		}
 		return properties;
 	}
 }
@@ -32,6 +32,7 @@ public class DockingSplitPanelNode implements DockingLayoutNode {
 	private double dividerProportion;
 
 	private DockingLayoutNode parent;
+	private boolean readOnly = false;
 
 	public DockingSplitPanelNode(DockingLayoutNode left, DockingLayoutNode right, int orientation, double dividerProportion) {
 		this.left = left;
@@ -50,7 +51,18 @@ public class DockingSplitPanelNode implements DockingLayoutNode {
 
 	@Override
 	public void setParent(DockingLayoutNode parent) {
-		this.parent = parent;
+		if (!readOnly) {
+			this.parent = parent;
+		}
+	}
+
+	@Override
+	public void makeReadOnly() {
+		readOnly = true;
+		parent = null;
+
+		left.makeReadOnly();
+		right.makeReadOnly();
 	}
 
 	@Override
@@ -70,6 +82,10 @@ public class DockingSplitPanelNode implements DockingLayoutNode {
 
 	@Override
 	public void replaceChild(DockingLayoutNode child, DockingLayoutNode newChild) {
+		if (readOnly) {
+			throw new UnsupportedOperationException("Layout node is read only");
+		}
+
 		if (left == child) {
 			left = newChild;
 			left.setParent(this);
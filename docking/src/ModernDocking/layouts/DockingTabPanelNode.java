@@ -32,12 +32,17 @@ public class DockingTabPanelNode implements DockingLayoutNode {
 	private String selectedTabID;
 
 	private DockingLayoutNode parent;
+	private boolean readOnly = false;
 
 	public DockingTabPanelNode(String selectedTabID) {
 		this.selectedTabID = selectedTabID;
 	}
 
 	public void addTab(String persistentID) {
+		if (readOnly) {
+			throw new UnsupportedOperationException("Layout node is read only");
+		}
+
 		DockingSimplePanelNode tab = new DockingSimplePanelNode(persistentID);
 		tab.setParent(this);
 		tabs.add(tab);
@@ -63,7 +68,20 @@ public class DockingTabPanelNode implements DockingLayoutNode {
 
 	@Override
 	public void setParent(DockingLayoutNode parent) {
-		this.parent = parent;
+		if (!readOnly) {
+			this.parent = parent;
+		}
+	}
+
+	@Override
+	public void makeReadOnly() {
+		readOnly = true;
+		parent = null;
+
+		// the tabs are owned by this node, they keep their link to it
+		for (DockingSimplePanelNode tab : tabs) {
+			tab.readOnlyTab();
+		}
 	}
 
 	@Override
@@ -78,6 +96,10 @@ public class DockingTabPanelNode implements DockingLayoutNode {
 
 	@Override
 	public void dock(String persistentID, DockingRegion region, double dividerProportion) {
+		if (readOnly) {
+			throw new UnsupportedOperationException("Layout node is read only");
+		}
+
 		if (region == DockingRegion.CENTER) {
 			addTab(persistentID);
 		}
@@ -101,6 +123,10 @@ public class DockingTabPanelNode implements DockingLayoutNode {
 	}
 
 	public void bringToFront(DockingLayoutNode node) {
+		if (readOnly) {
+			throw new UnsupportedOperationException("Layout node is read only");
+		}
+
 		for (DockingSimplePanelNode tab : tabs) {
 			if (tab == node) {
 				selectedTabID = tab.getPersistentID();
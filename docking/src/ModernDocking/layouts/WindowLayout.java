@@ -25,6 +25,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.Dialog.ModalityType;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 // layout of a single frame
@@ -37,6 +38,7 @@ public class WindowLayout {
 	private final ModalityType modalityType;
 	private final DockingLayoutNode rootNode;
 	private String maximizedDockable = null;
+	private boolean readOnly = false;
 
 	private final List<String> westUnpinnedToolbarIDs = new ArrayList<>();
 	private final List<String> eastUnpinnedToolbarIDs = new ArrayList<>();
@@ -86,11 +88,11 @@ public class WindowLayout {
 	}
 
 	public Point getLocation() {
-		return location;
+		return readOnly ? new Point(location) : location;
 	}
 
 	public Dimension getSize() {
-		return size;
+		return readOnly ? new Dimension(size) : size;
 	}
 
 	public int getState() {
@@ -105,7 +107,27 @@ public class WindowLayout {
 		return rootNode;
 	}
 
+	// make this layout and its nodes read only so that it can be shared. layouts from DockingState are always read only
+	public void makeReadOnly() {
+		readOnly = true;
+
+		if (rootNode != null) {
+			rootNode.makeReadOnly();
+		}
+	}
+
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	private void checkWritable() {
+		if (readOnly) {
+			throw new UnsupportedOperationException("Window layout is read only");
+		}
+	}
+
 	public void setMaximizedDockable(String persistentID) {
+		checkWritable();
 		maximizedDockable = persistentID;
 	}
 
@@ -114,30 +136,33 @@ public class WindowLayout {
 	}
 
 	public void setWestUnpinnedToolbarIDs(List<String> ids) {
+		checkWritable();
 		westUnpinnedToolbarIDs.clear();
 		westUnpinnedToolbarIDs.addAll(ids);
 	}
 
 	public List<String> getWestUnpinnedToolbarIDs() {
-		return westUnpinnedToolbarIDs;
+		return readOnly ? Collections.unmodifiableList(westUnpinnedToolbarIDs) : westUnpinnedToolbarIDs;
 	}
 
 	public void setEastUnpinnedToolbarIDs(List<String> ids) {
+		checkWritable();
 		eastUnpinnedToolbarIDs.clear();
 		eastUnpinnedToolbarIDs.addAll(ids);
 	}
 
 	public List<String> getEastUnpinnedToolbarIDs() {
-		return eastUnpinnedToolbarIDs;
+		return readOnly ? Collections.unmodifiableList(eastUnpinnedToolbarIDs) : eastUnpinnedToolbarIDs;
 	}
 
 	public void setSouthUnpinnedToolbarIDs(List<String> ids) {
+		checkWritable();
 		southUnpinnedToolbarIDs.clear();
 		southUnpinnedToolbarIDs.addAll(ids);
 	}
 
 	public List<String> getSouthUnpinnedToolbarIDs() {
-		return southUnpinnedToolbarIDs;
+		return readOnly ? Collections.unmodifiableList(southUnpinnedToolbarIDs) : southUnpinnedToolbarIDs;
 	}
 
 	public boolean hasSizeAndLocationInformation() {
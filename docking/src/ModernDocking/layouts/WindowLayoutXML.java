@@ -137,6 +137,9 @@ public class WindowLayoutXML {
 		else if (node instanceof DockingTabPanelNode) {
 			writeTabbedNodeToFile(writer, (DockingTabPanelNode) node);
 		}
+		else if (node instanceof DockingMultiSplitPanelNode) {
+			writeMultiSplitNodeToFile(writer, (DockingMultiSplitPanelNode) node);
+		}
 	}
 
 	private static void writeSimpleNodeToFile(XMLStreamWriter writer, DockingSimplePanelNode node) throws XMLStreamException {
@@ -185,6 +188,24 @@ public class WindowLayoutXML {
 		writer.writeCharacters(NL);
 	}
 
+	private static void writeMultiSplitNodeToFile(XMLStreamWriter writer, DockingMultiSplitPanelNode node) throws XMLStreamException {
+		writer.writeStartElement("multi-split");
+		writer.writeAttribute("orientation", String.valueOf(node.getOrientation()));
+		writer.writeCharacters(NL);
+
+		for (int i = 0; i < node.getChildren().size(); i++) {
+			writer.writeStartElement("child");
+			writer.writeAttribute("weight", String.valueOf(node.getWeights().get(i)));
+			writer.writeCharacters(NL);
+			writeNodeToFile(writer, node.getChildren().get(i));
+			writer.writeEndElement();
+			writer.writeCharacters(NL);
+		}
+
+		writer.writeEndElement();
+		writer.writeCharacters(NL);
+	}
+
 	private static void writeTabbedNodeToFile(XMLStreamWriter writer, DockingTabPanelNode node) throws XMLStreamException {
 		writer.writeStartElement("tabbed");
 		writer.writeCharacters(NL);
@@ -302,6 +323,9 @@ public class WindowLayoutXML {
 				else if (reader.getLocalName().equals("tabbed")) {
 					node = readTabNodeFromFile(reader);
 				}
+				else if (reader.getLocalName().equals("multi-split")) {
+					node = readMultiSplitNodeFromFile(reader);
+				}
 			}
 			else if (next == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals(name)) {
 				break;
@@ -370,6 +394,30 @@ public class WindowLayoutXML {
 		return new DockingSplitPanelNode(left, right, orientation, dividerProportion);
 	}
 
+	private static DockingMultiSplitPanelNode readMultiSplitNodeFromFile(XMLStreamReader reader) throws XMLStreamException {
+		int orientation = Integer.parseInt(reader.getAttributeValue(0));
+
+		DockingMultiSplitPanelNode node = new DockingMultiSplitPanelNode(orientation);
+
+		while (reader.hasNext()) {
+			int next = reader.nextTag();
+
+			if (next == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("child")) {
+				double weight = Math.max(0.0, Double.parseDouble(reader.getAttributeValue(0)));
+
+				DockingLayoutNode child = readNodeFromFile(reader, "child");
+
+				if (child != null) {
+					node.addChild(child, weight);
+				}
+			}
+			else if (next == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("multi-split")) {
+				break;
+			}
+		}
+		return node;
+	}
+
 	private static DockingTabPanelNode readTabNodeFromFile(XMLStreamReader reader) throws XMLStreamException {
 		DockingTabPanelNode node = new DockingTabPanelNode("");
 
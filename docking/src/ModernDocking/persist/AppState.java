@@ -28,9 +28,20 @@ import ModernDocking.layouts.ApplicationLayoutXML;
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class AppState {
-	private static final int PERSIST_TIMER_DELAY_MS = 500;
+	private static final int DEFAULT_PERSIST_DELAY_MS = 500;
+	private static final int DEFAULT_MAX_PERSIST_LATENCY_MS = 5000;
+
+	// how long we're willing to wait for the layout to be written when the application is shutting down
+	private static final int SHUTDOWN_TIMEOUT_MS = 2000;
 
 	private static boolean autoPersist = false;
 	private static File autoPersistFile = null;
@@ -39,7 +50,36 @@ public class AppState {
 
 	private static boolean paused = false;
 
-	private static Timer persistTimer = null;
+	// time to wait after the last change before persisting
+	private static int persistDelay = DEFAULT_PERSIST_DELAY_MS;
+
+	// longest time a change can go without being persisted while changes keep coming in
+	private static int maxPersistLatency = DEFAULT_MAX_PERSIST_LATENCY_MS;
+
+	// number of previous versions of the persist file to keep, file.1 is the most recent
+	private static int backupCount = 0;
+
+	private static volatile Timer persistTimer = null;
+
+	// time of the first change that hasn't been persisted yet
+	private static long firstPendingChange = 0;
+
+	// the newest layout waiting to be written. the persist thread only ever writes the newest layout
+	private static final AtomicReference<PendingSave> pendingSave = new AtomicReference<>();
+
+	private static ExecutorService persistExecutor = null;
+
+	private static boolean shutdownHookAdded = false;
+
+	private static class PendingSave {
+		private final File file;
+		private final ApplicationLayout layout;
+
+		private PendingSave(File file, ApplicationLayout layout) {
+			this.file = file;
+			this.layout = layout;
+		}
+	}
 
 	public static void setAutoPersist(boolean autoPersist) {
 		AppState.autoPersist = autoPersist;
@@ -65,27 +105,58 @@ public class AppState {
 		return paused;
 	}
 
+	// set the time to wait after the last change before the layout is persisted
+	public static void setPersistDelay(int delayMS) {
+		persistDelay = delayMS;
+	}
+
+	public static int getPersistDelay() {
+		return persistDelay;
+	}
+
+	// set the longest amount of time a change can wait to be persisted. without this the layout would never be persisted
+	// while changes are constantly being made, such as when the user is dragging a divider
+	public static void setMaxPersistLatency(int latencyMS) {
+		maxPersistLatency = latencyMS;
+	}
+
+	public static int getMaxPersistLatency() {
+		return maxPersistLatency;
+	}
+
+	// set the number of backups of the persist file to keep. the backups are used by restore() if the persist file can't be loaded
+	public static void setBackupCount(int count) {
+		backupCount = count;
+	}
+
+	public static int getBackupCount() {
+		return backupCount;
+	}
+
 	public static void persist() {
 		if (!autoPersist || paused || autoPersistFile == null) {
 			return;
 		}
 
+		addShutdownHook();
+
+		long now = System.currentTimeMillis();
+
 		// we don't want to persist immediately in case this function is getting called a lot.
 		// start a timer that will be restarted every time persist() is called, until finally the timer will go off and persist the file.
 		if (persistTimer == null) {
-			persistTimer = new Timer(PERSIST_TIMER_DELAY_MS, new AbstractAction() {
+			firstPendingChange = now;
+
+			persistTimer = new Timer(persistDelay, new AbstractAction() {
 				@Override
 				public void actionPerformed(ActionEvent e) {
+					// we're done with the timer for now. null it out
+					persistTimer = null;
+
 					// we might have gotten to the timer and then paused persistence
 					if (!paused) {
-						System.out.println("persist full docking layout");
-
-						ApplicationLayout layout = DockingState.getApplicationLayout();
-
-						ApplicationLayoutXML.saveLayoutToFile(autoPersistFile, layout);
+						saveSnapshot();
 					}
-					// we're done with the timer for now. null it out
-					persistTimer = null;
 				}
 			});
 			persistTimer.setRepeats(false);
@@ -93,20 +164,198 @@ public class AppState {
 			persistTimer.start();
 		}
 		else {
+			// push the timer back, but never past the max latency from the first change
+			long remaining = maxPersistLatency - (now - firstPendingChange);
+
+			persistTimer.setInitialDelay((int) Math.max(0, Math.min(persistDelay, remaining)));
 			persistTimer.restart();
 		}
 	}
 
+	// immediately persist any pending changes and wait for them to be written to the file
+	public static void flush() {
+		Timer timer = persistTimer;
+
+		if (timer != null) {
+			timer.stop();
+			persistTimer = null;
+
+			if (!paused) {
+				if (SwingUtilities.isEventDispatchThread()) {
+					saveSnapshot();
+				}
+				else {
+					try {
+						SwingUtilities.invokeAndWait(AppState::saveSnapshot);
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					catch (Exception e) {
+						e.printStackTrace();
+					}
+				}
+			}
+		}
+
+		waitForPendingSave();
+	}
+
+	// capture the layout on the EDT and hand it off to the persist thread to write
+	private static void saveSnapshot() {
+		if (autoPersistFile == null) {
+			return;
+		}
+
+		ApplicationLayout layout = DockingState.getApplicationLayout();
+
+		pendingSave.set(new PendingSave(autoPersistFile, layout));
+
+		getPersistExecutor().execute(AppState::writePendingSave);
+	}
+
+	private static void writePendingSave() {
+		PendingSave save = pendingSave.getAndSet(null);
+
+		// a newer layout was already written
+		if (save == null) {
+			return;
+		}
+
+		rotateBackups(save.file);
+
+		ApplicationLayoutXML.saveLayoutToFile(save.file, save.layout);
+	}
+
+	private static void rotateBackups(File file) {
+		if (backupCount <= 0 || !file.exists()) {
+			return;
+		}
+
+		try {
+			for (int i = backupCount - 1; i > 0; i--) {
+				File backup = backupFile(file, i);
+
+				if (backup.exists()) {
+					Files.move(backup.toPath(), backupFile(file, i + 1).toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+
+			// copy instead of move so that there's always a complete persist file on disk
+			Files.copy(file.toPath(), backupFile(file, 1).toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private static File backupFile(File file, int index) {
+		return new File(file.getPath() + "." + index);
+	}
+
+	private static synchronized ExecutorService getPersistExecutor() {
+		if (persistExecutor == null) {
+			persistExecutor = Executors.newSingleThreadExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "ModernDocking AppState Persist");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return persistExecutor;
+	}
+
+	private static void waitForPendingSave() {
+		ExecutorService executor;
+
+		synchronized (AppState.class) {
+			executor = persistExecutor;
+		}
+
+		if (executor == null) {
+			return;
+		}
+
+		// the executor runs tasks in order, once this task runs all the saves before it are done
+		Future<?> done = executor.submit(() -> {});
+
+		try {
+			done.get(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException | TimeoutException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private static synchronized void addShutdownHook() {
+		if (shutdownHookAdded) {
+			return;
+		}
+		shutdownHookAdded = true;
+
+		Runtime.getRuntime().addShutdownHook(new Thread(AppState::flushOnShutdown, "ModernDocking AppState Shutdown"));
+	}
+
+	private static void flushOnShutdown() {
+		// the EDT might be blocked (for example, System.exit was called from the EDT),
+		// so only give it a short time to capture the layout instead of waiting on it forever
+		if (persistTimer != null) {
+			FutureTask<Void> snapshot = new FutureTask<>(() -> {
+				if (persistTimer != null) {
+					persistTimer.stop();
+					persistTimer = null;
+
+					if (!paused) {
+						saveSnapshot();
+					}
+				}
+			}, null);
+
+			SwingUtilities.invokeLater(snapshot);
+
+			try {
+				snapshot.get(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException | ExecutionException | TimeoutException ignore) {
+			}
+		}
+
+		waitForPendingSave();
+	}
+
 	public static boolean restore() {
+		// the persist file and then each of the backups, newest first
+		List<File> files = new ArrayList<>();
+
+		if (autoPersistFile != null) {
+			files.add(autoPersistFile);
+
+			for (int i = 1; i <= backupCount; i++) {
+				files.add(backupFile(autoPersistFile, i));
+			}
+		}
+
+		files.removeIf(file -> !file.exists());
+
 		// don't restore if auto persist is disabled
-		if (autoPersistFile == null || !autoPersistFile.exists()) {
+		if (files.isEmpty()) {
 			return false;
 		}
 
 		try {
 			AppState.setPaused(true);
 
-			ApplicationLayout layout = ApplicationLayoutXML.loadLayoutFromFile(autoPersistFile);
+			ApplicationLayout layout = null;
+
+			for (File file : files) {
+				layout = loadLayout(file);
+
+				if (layout != null) {
+					break;
+				}
+			}
 
 			if (layout != null) {
 				DockingState.restoreApplicationLayout(layout);
@@ -129,6 +378,16 @@ public class AppState {
 		}
 	}
 
+	private static ApplicationLayout loadLayout(File file) {
+		try {
+			return ApplicationLayoutXML.loadLayoutFromFile(file);
+		}
+		catch (Exception e) {
+			// try the next backup
+			return null;
+		}
+	}
+
 	public static void setDefaultApplicationLayout(ApplicationLayout layout) {
 		defaultAppLayout = layout;
 	}
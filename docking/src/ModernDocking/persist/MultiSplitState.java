@@ -0,0 +1,70 @@
+/*
+Copyright (c) 2023 Andrew Auclair
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package ModernDocking.persist;
+
+import ModernDocking.internal.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class MultiSplitState implements DockableState {
+	private final List<DockableState> children = new ArrayList<>();
+	private final List<Double> weights = new ArrayList<>();
+
+	private final int orientation;
+
+	public MultiSplitState(DockedMultiSplitPanel panel) {
+		orientation = panel.getOrientation();
+		weights.addAll(panel.getWeights());
+
+		for (DockingPanel child : panel.getPanels()) {
+			if (child instanceof DockedTabbedPanel) {
+				children.add(new TabState((DockedTabbedPanel) child));
+			}
+			else if (child instanceof DockedSimplePanel) {
+				children.add(new PanelState(((DockedSimplePanel) child).getWrapper().getDockable().getPersistentID()));
+			}
+			else if (child instanceof DockedSplitPanel) {
+				children.add(new SplitState((DockedSplitPanel) child));
+			}
+			else if (child instanceof DockedMultiSplitPanel) {
+				children.add(new MultiSplitState((DockedMultiSplitPanel) child));
+			}
+			else {
+				throw new RuntimeException("Unknown panel");
+			}
+		}
+	}
+
+	public List<DockableState> getChildren() {
+		return Collections.unmodifiableList(children);
+	}
+
+	public List<Double> getWeights() {
+		return Collections.unmodifiableList(weights);
+	}
+
+	public int getOrientation() {
+		return orientation;
+	}
+}
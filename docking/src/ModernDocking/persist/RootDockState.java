@@ -21,6 +21,7 @@ SOFTWARE.
  */
 package ModernDocking.persist;
 
+import ModernDocking.internal.DockedMultiSplitPanel;
 import ModernDocking.internal.DockedSimplePanel;
 import ModernDocking.internal.DockedSplitPanel;
 import ModernDocking.internal.DockedTabbedPanel;
@@ -39,6 +40,9 @@ public class RootDockState {
 		else if (panel.getPanel() instanceof DockedTabbedPanel) {
 			state = new TabState((DockedTabbedPanel) panel.getPanel());
 		}
+		else if (panel.getPanel() instanceof DockedMultiSplitPanel) {
+			state = new MultiSplitState((DockedMultiSplitPanel) panel.getPanel());
+		}
 		else {
 			throw new RuntimeException("Unknown panel");
 		}
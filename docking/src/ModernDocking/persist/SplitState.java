@@ -21,6 +21,7 @@ SOFTWARE.
  */
 package ModernDocking.persist;
 
+import ModernDocking.internal.DockedMultiSplitPanel;
 import ModernDocking.internal.DockedSimplePanel;
 import ModernDocking.internal.DockedSplitPanel;
 import ModernDocking.internal.DockedTabbedPanel;
@@ -31,11 +32,13 @@ public class SplitState implements DockableState {
 
 	private final int orientation;
 	private final int dividerLocation;
+	private final double dividerProportion;
 	private final double resizeWeight;
 
 	public SplitState(DockedSplitPanel panel) {
 		orientation = panel.getSplitPane().getOrientation();
 		dividerLocation = panel.getSplitPane().getDividerLocation();// / (double) panel.getSplitPane().getMaximumDividerLocation();
+		dividerProportion = panel.getDividerProportion();
 		resizeWeight = panel.getSplitPane().getResizeWeight();
 
 //		System.out.println("divider, location: " + panel.getSplitPane().getDividerLocation() + ", max: " + panel.getSplitPane().getMaximumDividerLocation() + ", loc: " + dividerLocation);
@@ -49,6 +52,9 @@ public class SplitState implements DockableState {
 		else if (panel.getLeft() instanceof DockedSplitPanel) {
 			left = new SplitState((DockedSplitPanel) panel.getLeft());
 		}
+		else if (panel.getLeft() instanceof DockedMultiSplitPanel) {
+			left = new MultiSplitState((DockedMultiSplitPanel) panel.getLeft());
+		}
 		else {
 			throw new RuntimeException("Unknown panel");
 		}
@@ -62,6 +68,9 @@ public class SplitState implements DockableState {
 		else if (panel.getRight() instanceof DockedSplitPanel) {
 			right = new SplitState((DockedSplitPanel) panel.getRight());
 		}
+		else if (panel.getRight() instanceof DockedMultiSplitPanel) {
+			right = new MultiSplitState((DockedMultiSplitPanel) panel.getRight());
+		}
 		else {
 			throw new RuntimeException("Unknown panel");
 		}
@@ -83,6 +92,10 @@ public class SplitState implements DockableState {
 		return dividerLocation;
 	}
 
+	public double getDividerProportion() {
+		return dividerProportion;
+	}
+
 	public double getResizeWeight() {
 		return resizeWeight;
 	}
@@ -30,12 +30,14 @@ import javax.swing.event.AncestorListener;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.beans.PropertyChangeListener;
 
 // this can be replaced by the user or with the docking-ui FlatLaf header UI
 public class DefaultHeaderUI extends JPanel implements DockingHeaderUI, AncestorListener {
 	private final HeaderController headerController;
 	private final HeaderModel headerModel;
 
+	protected final JLabel iconLabel = new JLabel();
 	protected final JLabel titleLabel = new JLabel();
 	protected final JButton settings = new JButton();
 	protected final JButton close = new JButton();
@@ -50,6 +52,9 @@ public class DefaultHeaderUI extends JPanel implements DockingHeaderUI, Ancestor
 
 	private boolean initialized = false;
 
+	// global listener for look and feel changes, removed when the header is thrown away
+	private PropertyChangeListener lookAndFeelListener = null;
+
 	public DefaultHeaderUI(HeaderController headerController, HeaderModel headerModel) {
 		this.headerController = headerController;
 		this.headerModel = headerModel;
@@ -91,7 +96,7 @@ public class DefaultHeaderUI extends JPanel implements DockingHeaderUI, Ancestor
 			setBorder(bo);
 		}
 
-		UIManager.addPropertyChangeListener(e -> {
+		lookAndFeelListener = e -> {
 			if ("lookAndFeel".equals(e.getPropertyName())) {
 				Color bg = DockingProperties.getTitlebarBackgroundColor();
 				SwingUtilities.invokeLater(() -> {
@@ -108,7 +113,8 @@ public class DefaultHeaderUI extends JPanel implements DockingHeaderUI, Ancestor
 				Color bg = DockingProperties.getTitlebarBackgroundColor();
 				SwingUtilities.invokeLater(() -> setBackground(bg));
 			}
-		});
+		};
+		UIManager.addPropertyChangeListener(lookAndFeelListener);
 
 		setLayout(new GridBagLayout());
 
@@ -118,7 +124,7 @@ public class DefaultHeaderUI extends JPanel implements DockingHeaderUI, Ancestor
 		gbc.gridy = 0;
 		gbc.insets = new Insets(1, 6, 1, 2);
 
-		JLabel iconLabel = new JLabel(headerModel.icon());
+		iconLabel.setIcon(headerModel.icon());
 		add(iconLabel, gbc);
 		gbc.gridx++;
 
@@ -236,6 +242,25 @@ public class DefaultHeaderUI extends JPanel implements DockingHeaderUI, Ancestor
 		unpinned.setEnabled(headerModel.isPinnedAllowed() && !headerModel.isUnpinned());
 	}
 
+	@Override
+	public void updateTitle() {
+		// the labels are filled in when the header is initialized
+		if (initialized) {
+			iconLabel.setIcon(headerModel.icon());
+			titleLabel.setText(headerModel.titleText());
+		}
+	}
+
+	@Override
+	public void removeListeners() {
+		((JComponent) headerModel.dockable).removeAncestorListener(this);
+
+		if (lookAndFeelListener != null) {
+			UIManager.removePropertyChangeListener(lookAndFeelListener);
+			lookAndFeelListener = null;
+		}
+	}
+
 	@Override
 	public void ancestorAdded(AncestorEvent event) {
 		init();
@@ -23,4 +23,12 @@ package ModernDocking.ui;
 
 public interface DockingHeaderUI {
 	void update();
+
+	// the tab text or icon of the dockable has changed
+	default void updateTitle() {
+	}
+
+	// the header is being thrown away, remove any listeners it added to long-lived objects
+	default void removeListeners() {
+	}
 }
@@ -0,0 +1,226 @@
+/*
+Copyright (c) 2023 Andrew Auclair
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package ModernDocking.ui;
+
+import ModernDocking.internal.DisplayPanel;
+import ModernDocking.internal.DockedUnpinnedPanel;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// repaint manager that uses what the docking framework knows about dockables to skip work. repaints of dockables that can't be
+// seen (hidden tabs, closed unpinned panels, iconified windows) or that are covered by an open unpinned panel are dropped.
+// each dockable is repainted at most a set number of times per second, repaints in between are merged into the next one.
+// components outside of dockables are repainted as usual. install with DockingRepaintManager.install
+public class DockingRepaintManager extends RepaintManager {
+	private static DockingRepaintManager instance = null;
+
+	// pending repaint of a single dockable
+	private static class Throttle {
+		private long lastRepaint = 0;
+		private Rectangle pending = null;
+	}
+
+	// only accessed while synchronized on this manager
+	private final Map<DisplayPanel, Throttle> throttles = new WeakHashMap<>();
+
+	private final Timer timer;
+
+	// minimum time between repaints of a single dockable, 0 for no limit
+	private volatile long repaintInterval;
+
+	private final AtomicLong droppedRepaints = new AtomicLong();
+	private final AtomicLong mergedRepaints = new AtomicLong();
+
+	private DockingRepaintManager(int maxRepaintsPerSecond) {
+		setMaxRepaintsPerSecond(maxRepaintsPerSecond);
+
+		timer = new Timer((int) Math.max(1, repaintInterval), e -> flushPending());
+		timer.setCoalesce(true);
+	}
+
+	// install the docking repaint manager as the current repaint manager. 0 repaints per second disables the limit
+	public static DockingRepaintManager install(int maxRepaintsPerSecond) {
+		if (instance == null) {
+			instance = new DockingRepaintManager(maxRepaintsPerSecond);
+		}
+		else {
+			instance.setMaxRepaintsPerSecond(maxRepaintsPerSecond);
+		}
+
+		RepaintManager.setCurrentManager(instance);
+
+		return instance;
+	}
+
+	// go back to the default swing repaint manager
+	public static void uninstall() {
+		if (instance != null && RepaintManager.currentManager((JComponent) null) == instance) {
+			instance.flushPending();
+			instance.timer.stop();
+
+			RepaintManager.setCurrentManager(null);
+		}
+		instance = null;
+	}
+
+	public void setMaxRepaintsPerSecond(int maxRepaintsPerSecond) {
+		repaintInterval = maxRepaintsPerSecond > 0 ? 1000 / maxRepaintsPerSecond : 0;
+
+		if (timer != null) {
+			timer.setDelay((int) Math.max(1, repaintInterval));
+		}
+	}
+
+	// number of repaints that were dropped because the dockable couldn't be seen
+	public long getDroppedRepaints() {
+		return droppedRepaints.get();
+	}
+
+	// number of repaints that were merged into a later repaint because the dockable was over its budget
+	public long getMergedRepaints() {
+		return mergedRepaints.get();
+	}
+
+	public void resetCounters() {
+		droppedRepaints.set(0);
+		mergedRepaints.set(0);
+	}
+
+	@Override
+	public void addDirtyRegion(JComponent c, int x, int y, int w, int h) {
+		DisplayPanel panel = findDisplayPanel(c);
+
+		// not part of a dockable, nothing special to do
+		if (panel == null || w <= 0 || h <= 0) {
+			super.addDirtyRegion(c, x, y, w, h);
+			return;
+		}
+
+		// the dockable will be painted in full when it's shown again
+		if (!panel.isShownToUser() || isCoveredByUnpinnedPanel(c, x, y, w, h)) {
+			droppedRepaints.incrementAndGet();
+			return;
+		}
+
+		if (repaintInterval == 0) {
+			super.addDirtyRegion(c, x, y, w, h);
+			return;
+		}
+
+		synchronized (this) {
+			Throttle throttle = throttles.computeIfAbsent(panel, p -> new Throttle());
+			long now = System.currentTimeMillis();
+
+			if (throttle.pending == null && now - throttle.lastRepaint >= repaintInterval) {
+				throttle.lastRepaint = now;
+				super.addDirtyRegion(c, x, y, w, h);
+				return;
+			}
+
+			// over budget, merge the region into the next repaint of the dockable
+			Rectangle region = SwingUtilities.convertRectangle(c, new Rectangle(x, y, w, h), panel);
+
+			if (throttle.pending == null) {
+				throttle.pending = region;
+			}
+			else {
+				throttle.pending.add(region);
+			}
+			mergedRepaints.incrementAndGet();
+		}
+
+		if (!timer.isRunning()) {
+			timer.start();
+		}
+	}
+
+	// repaint the dockables whose budget has come around again
+	private void flushPending() {
+		boolean anyPending = false;
+
+		synchronized (this) {
+			long now = System.currentTimeMillis();
+
+			for (Iterator<Map.Entry<DisplayPanel, Throttle>> iterator = throttles.entrySet().iterator(); iterator.hasNext(); ) {
+				Map.Entry<DisplayPanel, Throttle> entry = iterator.next();
+				Throttle throttle = entry.getValue();
+
+				if (throttle.pending == null) {
+					iterator.remove();
+					continue;
+				}
+
+				if (now - throttle.lastRepaint >= repaintInterval) {
+					Rectangle region = throttle.pending;
+
+					throttle.pending = null;
+					throttle.lastRepaint = now;
+
+					if (entry.getKey().isShownToUser()) {
+						super.addDirtyRegion(entry.getKey(), region.x, region.y, region.width, region.height);
+					}
+				}
+				else {
+					anyPending = true;
+				}
+			}
+		}
+
+		if (!anyPending) {
+			timer.stop();
+		}
+	}
+
+	private static DisplayPanel findDisplayPanel(Component component) {
+		for (Component c = component; c != null && !(c instanceof Window); c = c.getParent()) {
+			if (c instanceof DisplayPanel) {
+				return (DisplayPanel) c;
+			}
+		}
+		return null;
+	}
+
+	// check if the region is completely covered by an open unpinned panel
+	private static boolean isCoveredByUnpinnedPanel(JComponent c, int x, int y, int w, int h) {
+		for (DockedUnpinnedPanel unpinned : DockedUnpinnedPanel.getOpenPanels()) {
+			if (!unpinned.isShowing() || SwingUtilities.isDescendingFrom(c, unpinned)) {
+				continue;
+			}
+
+			if (SwingUtilities.getRootPane(unpinned) != SwingUtilities.getRootPane(c)) {
+				continue;
+			}
+
+			Rectangle region = SwingUtilities.convertRectangle(c, new Rectangle(x, y, w, h), unpinned);
+
+			if (new Rectangle(0, 0, unpinned.getWidth(), unpinned.getHeight()).contains(region)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
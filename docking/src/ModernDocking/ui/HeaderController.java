@@ -37,8 +37,9 @@ public class HeaderController implements MaximizeListener, DockingListener {
 		this.dockable = dockable;
 		this.model = model;
 
-		DockingListeners.addMaximizeListener(this);
-		DockingListeners.addDockingListener(this);
+		// only listen for the events of our own dockable, the header doesn't change when other dockables do
+		DockingListeners.addMaximizeListener(dockable.getPersistentID(), this);
+		DockingListeners.addDockingListener(dockable.getPersistentID(), this);
 	}
 
 	public void setUI(DockingHeaderUI ui) {
@@ -46,8 +47,8 @@ public class HeaderController implements MaximizeListener, DockingListener {
 	}
 
 	public void removeListeners() {
-		DockingListeners.removeMaximizeListener(this);
-		DockingListeners.removeDockingListener(this);
+		DockingListeners.removeMaximizeListener(dockable.getPersistentID(), this);
+		DockingListeners.removeDockingListener(dockable.getPersistentID(), this);
 	}
 
 	public void pinDockable() {
@@ -2,6 +2,7 @@ module modern_docking {
 	requires java.desktop;
 
 	exports ModernDocking;
+	exports ModernDocking.event;
 	exports ModernDocking.ui;
 	exports ModernDocking.persist;
 }
\ No newline at end of file